@@ -10,6 +10,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.ArrayList;
@@ -20,6 +21,7 @@ import java.util.Objects;
 @AllArgsConstructor
 @EnableCaching
 @EnableScheduling
+@EnableAsync
 @Slf4j
 public class UserContextApplication implements CommandLineRunner {
 
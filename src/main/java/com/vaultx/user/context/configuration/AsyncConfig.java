@@ -0,0 +1,23 @@
+package com.vaultx.user.context.configuration;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The general-purpose application executor (used by {@code @Async} and for work continued after a
+ * non-blocking call, such as database access after a ledger response).
+ * <p>
+ * Spring Boot only creates it when no other {@link java.util.concurrent.Executor} bean exists, which
+ * the dedicated executors in {@link HyperledgerClientConfig} prevent, so it is declared here from
+ * Boot's configured builder ({@code spring.task.execution.*}).
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.vaultx.user.context.configuration;
+
+import com.vaultx.user.context.exception.LedgerUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * HTTP client and resilience policies for the Hyperledger gateway.
+ * <p>
+ * The JDK {@link HttpClient} keeps a pool of keep-alive connections and completes requests
+ * asynchronously, so waiting on the ledger never holds a Tomcat thread. Every call goes through a
+ * retry (jittered exponential backoff, only for {@link LedgerUnavailableException}), then the circuit
+ * breaker, then a semaphore bulkhead that caps concurrent calls.
+ */
+@Configuration
+public class HyperledgerClientConfig {
+
+    public static final String NAME = "hyperledger";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hyperledgerExecutor(@Value("${hyperledger.client.threads:4}") int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("hyperledger-", 0).daemon().factory());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService hyperledgerRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("hyperledger-retry").daemon().factory());
+    }
+
+    @Bean
+    public HttpClient hyperledgerHttpClient(
+            ExecutorService hyperledgerExecutor,
+            @Value("${hyperledger.client.connect-timeout:PT2S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(hyperledgerExecutor)
+                .build();
+    }
+
+    @Bean
+    public Bulkhead hyperledgerBulkhead(
+            @Value("${hyperledger.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${hyperledger.client.max-wait:PT0.5S}") Duration maxWait) {
+        return Bulkhead.of(NAME, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    @Bean
+    public CircuitBreaker hyperledgerCircuitBreaker(
+            @Value("${hyperledger.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${hyperledger.client.circuit-breaker.slow-call-threshold:PT3S}") Duration slowCallThreshold,
+            @Value("${hyperledger.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${hyperledger.client.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        return CircuitBreaker.of(NAME, CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(Math.min(10, windowSize))
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordExceptions(LedgerUnavailableException.class)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+    }
+
+    @Bean
+    public Retry hyperledgerRetry(
+            @Value("${hyperledger.client.retry.max-attempts:3}") int maxAttempts,
+            @Value("${hyperledger.client.retry.initial-backoff:PT0.2S}") Duration initialBackoff) {
+        return Retry.of(NAME, RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, 2.0, 0.5))
+                .retryExceptions(LedgerUnavailableException.class)
+                .build());
+    }
+}
@@ -1,7 +1,12 @@
 package com.vaultx.user.context.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.service.kafka.DIDEventAvroCodec;
+import com.vaultx.user.context.service.kafka.DIDEventSchemaRegistry;
 import com.vaultx.user.context.service.kafka.JsonSerializer;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,23 +18,90 @@ import org.springframework.kafka.core.ProducerFactory;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Kafka producer setup. {@code vaultx.kafka.producer.profile} picks a preset for idempotence,
+ * linger, batch size and compression ({@link ProducerProfile}); each setting can be overridden on
+ * its own with {@code vaultx.kafka.producer.idempotence}, {@code .linger-ms}, {@code .batch-size}
+ * and {@code .compression}.
+ * <p>
+ * {@code vaultx.kafka.did-event-format=avro} switches message values from JSON to the schema-versioned
+ * {@link DIDEventAvroCodec} binary encoding; consumers must switch first.
+ */
 @Configuration
+@Slf4j
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${vaultx.kafka.did-event-format:json}")
+    private String didEventFormat;
+
+    @Value("${vaultx.kafka.producer.profile:BALANCED}")
+    private ProducerProfile profile;
+
+    @Value("${vaultx.kafka.producer.idempotence:#{null}}")
+    private Boolean idempotence;
+
+    @Value("${vaultx.kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${vaultx.kafka.producer.batch-size:#{null}}")
+    private Integer batchSize;
+
+    @Value("${vaultx.kafka.producer.compression:#{null}}")
+    private String compression;
+
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory(ObjectMapper objectMapper) {
+        boolean idempotent = idempotence != null ? idempotence : profile.idempotence;
+
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotent);
+        // Idempotence needs acks from all in-sync replicas; it keeps per-partition order across retries
+        // with up to 5 requests in flight
+        configProps.put(ProducerConfig.ACKS_CONFIG, idempotent ? "all" : "1");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, idempotent ? 5 : 1);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs != null ? lingerMs : profile.lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize != null ? batchSize : profile.batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression != null ? compression : profile.compression);
+        log.info("Kafka producer profile {} ({} values): {}", profile, didEventFormat, configProps);
+
+        Serializer<Object> valueSerializer = switch (didEventFormat.toLowerCase()) {
+            case "json" -> new JsonSerializer<>(objectMapper);
+            case "avro" -> new DIDEventAvroCodec(DIDEventSchemaRegistry.fromClasspath()).serializer();
+            default -> throw new IllegalStateException("Unknown vaultx.kafka.did-event-format: " + didEventFormat);
+        };
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), valueSerializer);
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Producer presets.
+     */
+    public enum ProducerProfile {
+        /** Send as soon as possible, small uncompressed batches. */
+        LOW_LATENCY(true, 0, 16 * 1024, "none"),
+        /** A few milliseconds of batching with cheap compression. */
+        BALANCED(true, 5, 64 * 1024, "lz4"),
+        /** Large, well-compressed batches for bulk relays. */
+        THROUGHPUT(true, 50, 256 * 1024, "zstd");
+
+        private final boolean idempotence;
+        private final int lingerMs;
+        private final int batchSize;
+        private final String compression;
+
+        ProducerProfile(boolean idempotence, int lingerMs, int batchSize, String compression) {
+            this.idempotence = idempotence;
+            this.lingerMs = lingerMs;
+            this.batchSize = batchSize;
+            this.compression = compression;
+        }
     }
 }
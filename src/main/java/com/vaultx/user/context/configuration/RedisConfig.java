@@ -1,6 +1,7 @@
 package com.vaultx.user.context.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.user.UserSession;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.cache.annotation.EnableCaching;
@@ -69,6 +70,20 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Template for {@link UserSession} hashes: string keys and fields, Smile-encoded values.
+     */
+    @Bean
+    public RedisTemplate<String, UserSession> sessionRedisTemplate(
+            RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        RedisTemplate<String, UserSession> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new SmileRedisSerializer<>(objectMapper, UserSession.class));
+        return template;
+    }
+
     @Bean
     public RedisCacheConfiguration cacheConfiguration(ObjectMapper objectMapper) {
         return RedisCacheConfiguration.defaultCacheConfig()
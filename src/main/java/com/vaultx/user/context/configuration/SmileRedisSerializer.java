@@ -0,0 +1,54 @@
+package com.vaultx.user.context.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Typed Redis codec that stores values as Jackson Smile (binary JSON).
+ * <p>
+ * Unlike {@code GenericJackson2JsonRedisSerializer} it is bound to one class, so reads decode
+ * straight into {@code T} instead of a {@code LinkedHashMap}. Modules registered on the
+ * application {@link ObjectMapper} (java.time etc.) are inherited.
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public SmileRedisSerializer(ObjectMapper objectMapper, Class<T> type) {
+        ObjectMapper smileMapper = objectMapper
+                .copyWith(new SmileFactory())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.reader = smileMapper.readerFor(type);
+        this.writer = smileMapper.writerFor(type);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return reader.readValue(bytes);
+        } catch (Exception e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+}
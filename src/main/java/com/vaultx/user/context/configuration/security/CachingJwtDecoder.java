@@ -0,0 +1,84 @@
+package com.vaultx.user.context.configuration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vaultx.user.context.utils.CipherUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link JwtDecoder} decorator that remembers tokens whose signature has already been verified.
+ * <p>
+ * Entries are keyed by the SHA-256 of the raw token (the token itself is never kept as a key),
+ * bounded by size and evicted no later than the token's own {@code exp} claim. Failed decodes
+ * are never cached, so an invalid token is re-verified (and rejected) on every call.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    static final String CACHE_NAME = "jwt.decoder";
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        String key = CipherUtils.getHash(token.getBytes(StandardCharsets.UTF_8));
+        Jwt jwt = cache.get(key, k -> delegate.decode(token));
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(Instant.now())) {
+            // Entry outlived its token between expiry sweeps; let the delegate produce the proper error
+            cache.invalidate(key);
+            return delegate.decode(token);
+        }
+        return jwt;
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /*----------  expiry  ----------*/
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return maxTtl.toNanos();
+            }
+            long remaining = Duration.between(Instant.now(), expiresAt).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.vaultx.user.context.configuration.security;
 
-import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
-import com.vaultx.user.context.utils.RSAKeyProperties;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.vaultx.user.context.utils.JwtKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,12 +30,14 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 public class SecurityConfiguration {
 
-    private final RSAKeyProperties keys;
+    private final JwtKeyProperties keys;
 
-    public SecurityConfiguration(RSAKeyProperties keys) {
+    public SecurityConfiguration(JwtKeyProperties keys) {
         this.keys = keys;
     }
 
@@ -59,6 +63,7 @@ public class SecurityConfiguration {
                                     "/", "/index.html", "/*.js", "/*.css", "/*.png", "/*.jpg", "/*.ico", "/favicon.ico")
                             .permitAll();
                     auth.requestMatchers("/api/user/public/**").permitAll();
+                    auth.requestMatchers("/.well-known/jwks.json").permitAll();
                     // Allow Swagger UI and API docs endpoints
                     auth.requestMatchers("/swagger-ui.html").permitAll();
                     auth.requestMatchers("/swagger-ui/**").permitAll();
@@ -80,16 +85,23 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(keys.getPublicKey()).build();
+    public JwtDecoder jwtDecoder(
+            MeterRegistry meterRegistry,
+            @Value("${jwt.decoder-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${jwt.decoder-cache.max-ttl:PT1H}") Duration cacheMaxTtl) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(keys.getJwsAlgorithm(), new ImmutableJWKSet<>(keys.getPublicJwkSet())));
+        // Claims are validated by Spring's JwtValidators, not by Nimbus
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+
+        NimbusJwtDecoder nimbusDecoder = new NimbusJwtDecoder(jwtProcessor);
+        return new CachingJwtDecoder(nimbusDecoder, cacheMaxSize, cacheMaxTtl, meterRegistry);
     }
 
     @Bean
     public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(keys.getPublicKey())
-                .privateKey(keys.getPrivateKey())
-                .build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
+        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(keys.getSigningKey()));
         return new NimbusJwtEncoder(jwks);
     }
 
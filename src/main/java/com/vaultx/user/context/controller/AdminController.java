@@ -0,0 +1,52 @@
+package com.vaultx.user.context.controller;
+
+import com.vaultx.user.context.model.activity.ActivityStatsDTO;
+import com.vaultx.user.context.model.activity.RollupGranularity;
+import com.vaultx.user.context.service.user.ActivityRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administrative endpoints, ADMIN role only")
+public class AdminController {
+
+    private final ActivityRollupService rollupService;
+
+    @GetMapping("/activities/stats")
+    @Operation(
+            summary = "Activity statistics",
+            description = "Activity counts per bucket, type and unusual flag, read from the pre-aggregated rollups. "
+                    + "from/to are ISO-8601 instants (default: the last 7 days); FIVE_MINUTES buckets are only "
+                    + "kept for the last couple of days",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statistics computed",
+                            content = @Content(schema = @Schema(implementation = ActivityStatsDTO.class))),
+                    @ApiResponse(responseCode = "403", description = "Caller is not an admin", content = @Content)
+            })
+    public ResponseEntity<ActivityStatsDTO> getActivityStats(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) UUID userId) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(7));
+        return ResponseEntity.ok(rollupService.stats(start, end, granularity, userId));
+    }
+}
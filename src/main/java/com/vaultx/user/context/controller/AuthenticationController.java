@@ -74,7 +74,8 @@ public class AuthenticationController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "PIN verification result"),
                     @ApiResponse(responseCode = "400", description = "Invalid PIN format", content = @Content),
-                    @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content)
+                    @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Too many failed PIN attempts", content = @Content)
             })
     public ResponseEntity<Boolean> verifyPin(
             HttpServletRequest request, @Parameter(description = "6-digit PIN") @RequestParam String pin) {
@@ -93,7 +94,8 @@ public class AuthenticationController {
                     @ApiResponse(
                             responseCode = "400",
                             description = "Invalid registration data or user already exists",
-                            content = @Content)
+                            content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Password hashing capacity exhausted", content = @Content)
             })
     public ResponseEntity<UserResponseDTO> registerUser(@RequestBody RegistrationDTO dto, HttpServletRequest request) {
         return ResponseEntity.ok(registrationService.registerUser(request, dto));
@@ -108,7 +110,8 @@ public class AuthenticationController {
                             responseCode = "200",
                             description = "Random user registered successfully",
                             content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid password data", content = @Content)
+                    @ApiResponse(responseCode = "400", description = "Invalid password data", content = @Content),
+                    @ApiResponse(responseCode = "429", description = "Password hashing capacity exhausted", content = @Content)
             })
     public ResponseEntity<UserResponseDTO> registerDefaultUser(@RequestBody String password) {
         return ResponseEntity.ok(registrationService.registerRandomUser(password));
@@ -123,7 +126,11 @@ public class AuthenticationController {
                             responseCode = "200",
                             description = "Login successful",
                             content = @Content(schema = @Schema(implementation = LoginResponseDTO.class))),
-                    @ApiResponse(responseCode = "401", description = "Authentication failed", content = @Content)
+                    @ApiResponse(responseCode = "401", description = "Authentication failed", content = @Content),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Too many failed attempts or authentication capacity exhausted",
+                            content = @Content)
             })
     public ResponseEntity<LoginResponseDTO> loginUser(HttpServletRequest request, @RequestBody LoginDTO dto) {
         return ResponseEntity.ok(loginService.loginUser(request, dto));
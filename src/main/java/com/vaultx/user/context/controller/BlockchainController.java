@@ -1,104 +1,195 @@
 package com.vaultx.user.context.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.exception.BadRequestException;
+import com.vaultx.user.context.model.CursorPage;
 import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.DIDEventFilter;
 import com.vaultx.user.context.model.blockchain.EventHistory;
+import com.vaultx.user.context.model.blockchain.EventType;
 import com.vaultx.user.context.model.blockchain.StatsResponse;
 import com.vaultx.user.context.service.user.BlockchainService;
+import com.vaultx.user.context.utils.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/blockchain/events")
 @RequiredArgsConstructor
 public class BlockchainController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final BlockchainService bc;
+    private final ObjectMapper objectMapper;
 
     /**
-     * List events for a user, with optional filtering by type and date range.
+     * One page of a user's events, newest first. Filters by type, date range and top-level payload
+     * fields ({@code payload=fileName:report.pdf}, repeatable) are evaluated by the database; pass
+     * the returned nextCursor as cursor to get the next page.
      */
     @GetMapping
-    public List<DIDEvent> list(
+    public CompletableFuture<CursorPage<DIDEvent>> list(
             @RequestParam UUID userId,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) Instant from,
-            @RequestParam(required = false) Instant to) {
-        return bc.getEventsByUser(userId).stream()
-                .filter(ev -> type == null || ev.getEventType().name().equalsIgnoreCase(type))
-                .filter(ev -> {
-                    Instant ts = ev.getTimestamp();
-                    boolean after = from == null || !ts.isBefore(from);
-                    boolean before = to == null || !ts.isAfter(to);
-                    return after && before;
-                })
-                .collect(Collectors.toList());
+            @RequestParam(required = false) Instant to,
+            @RequestParam(name = "payload", required = false) List<String> payloadFields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return find(userId, type, cursor, limit, filter -> filter
+                .from(from)
+                .to(to)
+                .payloadFields(parsePayloadFields(payloadFields)));
     }
 
     /**
-     * Search events by payload or type.
+     * Search events by payload or type, one page at a time.
      */
     @GetMapping("/search")
-    public List<DIDEvent> search(
-            @RequestParam UUID userId, @RequestParam(required = false) String type, @RequestParam String q) {
-        return list(userId, type, null, null).stream()
-                .filter(ev ->
-                        ev.getPayload().contains(q) || ev.getEventType().name().contains(q))
-                .collect(Collectors.toList());
+    public CompletableFuture<CursorPage<DIDEvent>> search(
+            @RequestParam UUID userId,
+            @RequestParam(required = false) String type,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return find(userId, type, cursor, limit, filter -> filter.text(q));
+    }
+
+    private CompletableFuture<CursorPage<DIDEvent>> find(
+            UUID userId, String type, String cursor, int limit, UnaryOperator<DIDEventFilter.DIDEventFilterBuilder> filters) {
+        EventType eventType = parseType(type);
+        if (type != null && eventType == null) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            // Reject a malformed cursor here rather than in the async query
+            after.uuid();
+        }
+        DIDEventFilter filter = filters.apply(DIDEventFilter.builder()
+                        .userId(userId)
+                        .type(eventType)
+                        .after(after)
+                        .limit(Math.clamp(limit, 1, MAX_PAGE_SIZE)))
+                .build();
+        return bc.findEventsAsync(filter);
     }
 
     /**
      * Retrieve single event details
      */
     @GetMapping("/{id}")
-    public DIDEvent detail(@PathVariable UUID id) {
-        return bc.getEvent(id);
+    public CompletableFuture<DIDEvent> detail(@PathVariable UUID id) {
+        return bc.getEventAsync(id);
     }
 
     /**
      * Retrieve on-chain history for an event
      */
     @GetMapping("/{id}/history")
-    public List<EventHistory> history(@PathVariable UUID id) {
-        return bc.getEventHistory(id);
+    public CompletableFuture<List<EventHistory>> history(@PathVariable UUID id) {
+        return bc.getEventHistoryAsync(id);
     }
 
     /**
-     * Export events as CSV
+     * Export events, newest first, as CSV or NDJSON (one JSON object per line). Rows are written to
+     * the response as they are read, with chunked transfer; {@code gzip=true} compresses the stream
+     * and downloads it as a .gz file.
      */
     @GetMapping("/export")
-    public ResponseEntity<InputStreamResource> exportCsv(@RequestParam UUID userId) {
-        List<DIDEvent> events = bc.getEventsByUser(userId);
-        StringBuilder sb = new StringBuilder("eventId,userId,type,payloadHash,kafkaOffset,timestamp\n");
-        events.forEach(ev -> sb.append(ev.toCsvLine()).append("\n"));
-
-        InputStreamResource isr =
-                new InputStreamResource(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=events.csv")
-                .contentType(MediaType.TEXT_PLAIN)
-                .body(isr);
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> export(
+            @RequestParam UUID userId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        String filename = "events." + (ndjson ? "ndjson" : "csv") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            if (!ndjson) {
+                writer.write("eventId,userId,type,payloadHash,kafkaOffset,timestamp,payload\n");
+            }
+            try {
+                bc.streamEvents(userId, event -> {
+                    try {
+                        writer.write(ndjson ? objectMapper.writeValueAsString(event) : event.toCsvLine());
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+
+        return bc.ensureSynced(userId).thenApply(synced -> ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(contentType)
+                .body(body));
     }
 
     /**
      * Simple stats: count by event type
      */
     @GetMapping("/stats")
-    public StatsResponse stats(@RequestParam UUID userId) {
-        List<DIDEvent> events = bc.getEventsByUser(userId);
-        Map<String, Long> counts = events.stream()
-                .collect(Collectors.groupingBy(ev -> ev.getEventType().name(), Collectors.counting()));
-        return new StatsResponse(counts);
+    public CompletableFuture<StatsResponse> stats(@RequestParam UUID userId) {
+        return bc.countEventsByTypeAsync(userId).thenApply(StatsResponse::new);
+    }
+
+    private static Map<String, String> parsePayloadFields(List<String> payloadFields) {
+        if (payloadFields == null) return null;
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String payloadField : payloadFields) {
+            int separator = payloadField.indexOf(':');
+            if (separator <= 0) {
+                throw new BadRequestException("payload filters must look like field:value");
+            }
+            fields.put(payloadField.substring(0, separator), payloadField.substring(separator + 1));
+        }
+        return fields;
+    }
+
+    private static EventType parseType(String type) {
+        if (type == null) return null;
+        try {
+            return EventType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
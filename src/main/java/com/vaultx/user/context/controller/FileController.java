@@ -1,6 +1,7 @@
 package com.vaultx.user.context.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.blockchain.AnchorProof;
 import com.vaultx.user.context.model.blockchain.DIDEvent;
 import com.vaultx.user.context.model.file.*;
 import com.vaultx.user.context.service.file.ChatFileService;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -108,12 +110,8 @@ public class FileController {
         UUID senderId = fileMeta.getMessage().getSender().getId();
         UUID recipientId = fileMeta.getMessage().getRecipient().getId();
 
-        // 2) Try to fetch matching FILE_UPLOAD event from requester, then from the other user
-        DIDEvent event = blockchainService.getFileEvent(UUID.fromString(requesterId), fileId);
-        if (event == null) {
-            UUID otherUserId = requesterId.equals(senderId.toString()) ? recipientId : senderId;
-            event = blockchainService.getFileEvent(otherUserId, fileId);
-        }
+        // 2) Fetch the FILE_UPLOAD event either participant recorded for this file
+        DIDEvent event = blockchainService.getFileEvent(fileId, List.of(senderId, recipientId));
 
         if (event == null) {
             return ResponseEntity.ok(
@@ -125,6 +123,19 @@ public class FileController {
             );
         }
 
+        // An anchored event must still hash to its Merkle root
+        AnchorProof anchor = event.getAnchor();
+        if (anchor != null && !anchor.isVerified()) {
+            return ResponseEntity.ok(
+                    FileValidationResponse.builder()
+                            .fileId(fileId)
+                            .isValid(false)
+                            .message("Blockchain record does not match its anchored Merkle root")
+                            .merkleRoot(anchor.getMerkleRoot())
+                            .build()
+            );
+        }
+
         // 3) Parse stored metadata
         FileBlockchainMeta blockchainMeta;
         try {
@@ -174,6 +185,7 @@ public class FileController {
                         .blockchainHash(blockchainMeta.getFileHash())
                         .currentHash(currentHash)
                         .uploadTimestamp(blockchainMeta.getUploadTimestamp())
+                        .merkleRoot(anchor != null ? anchor.getMerkleRoot() : null)
                         .build()
         );
     }
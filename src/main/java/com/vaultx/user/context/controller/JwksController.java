@@ -0,0 +1,31 @@
+package com.vaultx.user.context.controller;
+
+import com.vaultx.user.context.utils.JwtKeyProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Authentication and authorization endpoints")
+public class JwksController {
+
+    private final JwtKeyProperties jwtKeyProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "Token signing keys",
+            description = "Public JSON Web Key Set used to verify access and refresh tokens, matched by the token's kid")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyProperties.getPublicJwkSet().toJSONObject());
+    }
+}
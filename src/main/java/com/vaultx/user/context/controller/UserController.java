@@ -1,8 +1,11 @@
 package com.vaultx.user.context.controller;
 
+import com.vaultx.user.context.model.CursorPage;
 import com.vaultx.user.context.model.PublicKeyResponse;
 import com.vaultx.user.context.model.activity.ActivityResponseDTO;
 import com.vaultx.user.context.model.authentication.response.UserResponseDTO;
+import com.vaultx.user.context.model.user.BlockListDTO;
+import com.vaultx.user.context.model.user.BulkBlockRequest;
 import com.vaultx.user.context.model.user.UserReportRequest;
 import com.vaultx.user.context.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,11 +14,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -58,14 +68,26 @@ public class UserController {
     @GetMapping("/public/avatar/{userId}")
     @Operation(
             summary = "Get user avatar",
-            description = "Retrieves a user's avatar as SVG image",
+            description = "Retrieves a user's avatar as PNG image. Supports conditional requests via ETag",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Avatar retrieved successfully"),
+                    @ApiResponse(responseCode = "304", description = "Avatar not modified", content = @Content),
                     @ApiResponse(responseCode = "404", description = "User or avatar not found", content = @Content)
             })
-    public ResponseEntity<String> getUserAvatar(@PathVariable UUID userId) {
-        String avatar = userService.getUserAvatar(userId);
-        return ResponseEntity.ok(avatar);
+    public ResponseEntity<byte[]> getUserAvatar(@PathVariable UUID userId, WebRequest webRequest) {
+        String etag = "\"" + userService.getUserAvatarVersion(userId) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.IMAGE_PNG)
+                .body(userService.getUserAvatar(userId));
     }
 
     @GetMapping("/public/{userId}")
@@ -141,6 +163,50 @@ public class UserController {
         }
     }
 
+    @PostMapping("/blocks")
+    @Operation(
+            summary = "Block many users",
+            description = "Blocks all listed users in one transaction and returns the updated block list. "
+                    + "Unknown or already blocked ids are ignored; at most " + BulkBlockRequest.MAX_USERS + " ids per request",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Users blocked",
+                            content = @Content(schema = @Schema(implementation = BlockListDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "userIds missing or too long", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content)
+            })
+    public ResponseEntity<BlockListDTO> blockUsers(
+            HttpServletRequest request, @Valid @RequestBody BulkBlockRequest body) {
+        BlockListDTO blockList = userService.blockUsers(body.getUserIds(), request);
+        return ResponseEntity.ok().eTag(blockListETag(blockList)).body(blockList);
+    }
+
+    @GetMapping("/blocks")
+    @Operation(
+            summary = "Get block list",
+            description = "Returns everyone the current user blocked and everyone who blocked them. "
+                    + "Send If-None-Match with the last ETag to get 304 while nothing changed",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Block list retrieved",
+                            content = @Content(schema = @Schema(implementation = BlockListDTO.class))),
+                    @ApiResponse(responseCode = "304", description = "Block list not modified", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "User not authenticated", content = @Content)
+            })
+    public ResponseEntity<BlockListDTO> getBlockList(HttpServletRequest request, WebRequest webRequest) {
+        BlockListDTO blockList = userService.getBlockList(request);
+        String etag = blockListETag(blockList);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(blockList);
+    }
+
     @DeleteMapping("/block/{blockedId}")
     @Operation(summary = "Unblock a user", description = "Unblocks a previously blocked user by their ID")
     public ResponseEntity<Void> unblockUser(HttpServletRequest request, @PathVariable UUID blockedId) {
@@ -164,6 +230,10 @@ public class UserController {
         return ResponseEntity.ok(isBlockedBy);
     }
 
+    private static String blockListETag(BlockListDTO blockList) {
+        return "\"" + blockList.getVersion() + "\"";
+    }
+
     @PostMapping("/blockchain-consent")
     @Operation(
             summary = "Update blockchain consent",
@@ -181,10 +251,17 @@ public class UserController {
     }
 
     @GetMapping("/activities")
-    @Operation(summary = "Get user activities", description = "Retrieves recent activities for the authenticated user")
-    public ResponseEntity<List<ActivityResponseDTO>> getUserActivities(
-            HttpServletRequest request, @RequestParam(defaultValue = "all") String type) {
-        List<ActivityResponseDTO> activities = userService.getUserActivities(type, request);
-        return ResponseEntity.ok(activities);
+    @Operation(
+            summary = "Get user activities",
+            description = "Returns the authenticated user's activities newest first, one page at a time. "
+                    + "Pass the returned nextCursor as cursor to get the next page; from/to are ISO-8601 instants")
+    public ResponseEntity<CursorPage<ActivityResponseDTO>> getUserActivities(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "all") String type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userService.getUserActivities(type, from, to, cursor, limit, request));
     }
 }
@@ -0,0 +1,15 @@
+package com.vaultx.user.context.exception;
+
+/**
+ * Malformed client input, such as an invalid cursor or filter; answered with HTTP 400 and the
+ * message.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.vaultx.user.context.exception;
+
+/**
+ * The Hyperledger gateway could not serve the request: it failed, timed out, or calls to it are
+ * being shed (open circuit breaker, full bulkhead).
+ */
+public class LedgerUnavailableException extends RuntimeException {
+    public LedgerUnavailableException(String message) {
+        super(message);
+    }
+
+    public LedgerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,317 @@
+package com.vaultx.user.context.jobs;
+
+import com.vaultx.user.context.service.file.ArchiveStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code user_activities} range-partitioned by month on {@code timestamp}. Opt-in through
+ * {@code vaultx.activities.partitioning.enabled=true}; runs at startup and daily at 02:30.
+ * <ol>
+ *   <li>A plain table (as created by Hibernate) is converted once: it is renamed to
+ *       {@code user_activities_legacy} and attached, without copying, as the partition holding
+ *       everything up to the end of next month. A DEFAULT partition catches stray rows. The bound is
+ *       first added as a {@code NOT VALID} check constraint and validated while writes continue, so
+ *       the attach under the exclusive lock skips its own scan of the table.</li>
+ *   <li>Monthly partitions ({@code user_activities_pYYYY_MM}) are created {@code months-ahead} in advance.</li>
+ *   <li>Partitions whose upper bound is older than {@code retention} are detached and dropped, after
+ *       being written to object storage as gzipped CSV when {@code archive.enabled} is set. A partition
+ *       whose archive upload fails is kept for the next run.</li>
+ *   <li>The legacy partition holds the whole history from before the conversion but only expires once
+ *       its upper bound does, about thirteen months later. Until then its rows older than
+ *       {@code retention} are archived the same way and deleted in place, a range of heap pages per
+ *       transaction, so the largest table is pruned like the rest.</li>
+ * </ol>
+ * Each step runs in its own transaction under a transaction-level advisory lock, so only one
+ * instance does the maintenance at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "vaultx.activities.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class ActivityPartitionJob {
+
+    private static final String TABLE = "user_activities";
+    private static final String LEGACY = "user_activities_legacy";
+    private static final String LEGACY_BOUND = "user_activities_legacy_bound";
+    private static final int LEGACY_PRUNE_PAGES = 1000;
+    private static final String LEGACY_PAGES_SQL =
+            "select pg_relation_size('user_activities_legacy') / current_setting('block_size')::int";
+    // A TID range scan: each batch reads only its own pages
+    private static final String LEGACY_PRUNE_SQL =
+            "delete from user_activities_legacy where ctid >= ?::tid and ctid < ?::tid and timestamp < ?";
+    private static final String ARCHIVE_COLUMNS = "id, user_id, type, description, timestamp, is_unusual, details";
+    private static final String LOCK_SQL = "select pg_try_advisory_xact_lock(hashtext('user_activities_partitioning'))";
+    private static final String PARTITIONS_SQL =
+            """
+            select c.relname as name,
+                   (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz as upper_bound
+            from pg_inherits i
+            join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = 'user_activities'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveStorageService archiveStorageService;
+    private final int monthsAhead;
+    private final Duration retention;
+    private final boolean archiveEnabled;
+
+    public ActivityPartitionJob(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ArchiveStorageService archiveStorageService,
+            @Value("${vaultx.activities.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${vaultx.activities.retention:P365D}") Duration retention,
+            @Value("${vaultx.activities.archive.enabled:false}") boolean archiveEnabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Stream archived partitions instead of loading them into memory
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveStorageService = archiveStorageService;
+        this.monthsAhead = monthsAhead;
+        this.retention = retention;
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "0 30 2 * * *")
+    public void maintain() {
+        try {
+            if (isPlainTable()) {
+                // Separate transactions: only the add holds an exclusive lock, and only briefly
+                runLocked(this::addLegacyBound);
+                runLocked(() -> jdbcTemplate.execute("alter table user_activities validate constraint " + LEGACY_BOUND));
+                runLocked(this::convertIfNeeded);
+            }
+            runLocked(this::createFuturePartitions);
+            for (Partition partition : expiredPartitions()) {
+                runLocked(() -> dropPartition(partition));
+            }
+            pruneLegacy();
+        } catch (Exception e) {
+            log.error("Activity partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPlainTable() {
+        String kind = jdbcTemplate.queryForObject(
+                "select relkind::text from pg_class where oid = to_regclass(?)", String.class, TABLE);
+        return "r".equals(kind);
+    }
+
+    /**
+     * Start of the month after next: a month of margin before the check constraint would start
+     * rejecting inserts if the conversion keeps failing. Re-added with a fresh bound on every run.
+     */
+    private static OffsetDateTime legacyUpperBound() {
+        return YearMonth.now(ZoneOffset.UTC).plusMonths(2).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private void addLegacyBound() {
+        if (!isPlainTable()) return;
+        jdbcTemplate.execute("alter table user_activities drop constraint if exists " + LEGACY_BOUND);
+        jdbcTemplate.execute("alter table user_activities add constraint " + LEGACY_BOUND
+                + " check (timestamp is not null and timestamp < '" + legacyUpperBound() + "') not valid");
+    }
+
+    private void convertIfNeeded() {
+        if (!isPlainTable()) return;
+
+        // Not earlier than the validated constraint's bound, so the constraint implies the partition's
+        OffsetDateTime legacyUpperBound = legacyUpperBound();
+        log.info("Converting {} to a partitioned table, existing rows stay in {}_legacy", TABLE, TABLE);
+
+        jdbcTemplate.execute("lock table user_activities in access exclusive mode");
+        jdbcTemplate.execute("alter table user_activities rename to user_activities_legacy");
+        // Index names are schema-wide: free them for the partitioned parent
+        jdbcTemplate.execute("alter index if exists user_activities_pkey rename to user_activities_legacy_pkey");
+        jdbcTemplate.execute("alter index if exists idx_user_activities_user_type_ts rename to idx_user_activities_legacy_user_type_ts");
+        jdbcTemplate.execute("alter index if exists idx_user_activities_user_ts rename to idx_user_activities_legacy_user_ts");
+
+        jdbcTemplate.execute("create table user_activities (like user_activities_legacy including defaults) partition by range (timestamp)");
+        jdbcTemplate.execute("alter table user_activities add primary key (id, timestamp)");
+        jdbcTemplate.execute("alter table user_activities add foreign key (user_id) references users (id)");
+        jdbcTemplate.execute("create index idx_user_activities_user_type_ts on user_activities (user_id, type, timestamp)");
+        jdbcTemplate.execute("create index idx_user_activities_user_ts on user_activities (user_id, timestamp)");
+
+        jdbcTemplate.execute("alter table user_activities attach partition user_activities_legacy for values from (minvalue) to ('"
+                + legacyUpperBound + "')");
+        jdbcTemplate.execute("alter table user_activities_legacy drop constraint " + LEGACY_BOUND);
+        jdbcTemplate.execute("create table user_activities_default partition of user_activities default");
+    }
+
+    private void createFuturePartitions() {
+        Instant covered = partitions().stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(Instant::compareTo)
+                .orElse(YearMonth.now(ZoneOffset.UTC).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+
+        YearMonth month = YearMonth.from(covered.atOffset(ZoneOffset.UTC));
+        YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            String name = "%s_p%d_%02d".formatted(TABLE, month.getYear(), month.getMonthValue());
+            jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%s 00:00:00+00') to ('%s 00:00:00+00')"
+                    .formatted(name, TABLE, from, to));
+            log.info("Activity partition {} ready", name);
+        }
+    }
+
+    private List<Partition> expiredPartitions() {
+        Instant cutoff = Instant.now().minus(retention);
+        return partitions().stream()
+                .filter(partition -> partition.upperBound() != null && partition.upperBound().isBefore(cutoff))
+                .toList();
+    }
+
+    private void dropPartition(Partition partition) {
+        if (archiveEnabled) {
+            try {
+                archive(partition.name(), "select %s from %s".formatted(ARCHIVE_COLUMNS, partition.name()));
+            } catch (Exception e) {
+                log.error("Archiving {} failed, keeping the partition: {}", partition.name(), e.getMessage(), e);
+                return;
+            }
+        }
+        jdbcTemplate.execute("alter table %s detach partition %s".formatted(TABLE, partition.name()));
+        jdbcTemplate.execute("drop table %s".formatted(partition.name()));
+        log.info("Dropped expired activity partition {} (data up to {})", partition.name(), partition.upperBound());
+    }
+
+    /**
+     * Archives and deletes the legacy partition's rows older than the retention, while the partition
+     * itself is not yet expired.
+     */
+    private void pruneLegacy() {
+        Instant cutoff = Instant.now().minus(retention);
+        boolean retained = partitions().stream()
+                .anyMatch(partition -> partition.name().equals(LEGACY)
+                        && partition.upperBound() != null
+                        && !partition.upperBound().isBefore(cutoff));
+        if (!retained) return;
+
+        Timestamp before = Timestamp.from(cutoff);
+        if (archiveEnabled) {
+            String name = "%s_before_%s".formatted(LEGACY, cutoff.atOffset(ZoneOffset.UTC).toLocalDate());
+            try {
+                archive(name, "select %s from %s where timestamp < ?".formatted(ARCHIVE_COLUMNS, LEGACY), before);
+            } catch (Exception e) {
+                log.error("Archiving expired rows of {} failed, keeping them: {}", LEGACY, e.getMessage(), e);
+                return;
+            }
+        }
+
+        Long pages = jdbcTemplate.queryForObject(LEGACY_PAGES_SQL, Long.class);
+        long deleted = 0;
+        for (long page = 0; pages != null && page < pages; page += LEGACY_PRUNE_PAGES) {
+            long from = page;
+            long[] batch = {0};
+            runLocked(() -> batch[0] = jdbcTemplate.update(
+                    LEGACY_PRUNE_SQL, "(%d,0)".formatted(from), "(%d,0)".formatted(from + LEGACY_PRUNE_PAGES), before));
+            deleted += batch[0];
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} activities older than {} from {}", deleted, cutoff, LEGACY);
+        }
+    }
+
+    /**
+     * Writes the rows of {@code query} to object storage as {@code activities/<name>.csv.gz}; nothing
+     * is uploaded when there are none.
+     */
+    private void archive(String name, String query, Object... args) throws IOException {
+        Path file = Files.createTempFile(name, ".csv.gz");
+        long[] rows = {0};
+        try {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+                out.write("id,user_id,type,description,timestamp,is_unusual,details\n");
+                jdbcTemplate.query(
+                        query,
+                        rs -> {
+                            try {
+                                out.write(String.join(",",
+                                        csv(rs.getString(1)),
+                                        csv(rs.getString(2)),
+                                        csv(rs.getString(3)),
+                                        csv(rs.getString(4)),
+                                        csv(rs.getTimestamp(5).toInstant().toString()),
+                                        String.valueOf(rs.getBoolean(6)),
+                                        csv(rs.getString(7))));
+                                out.write('\n');
+                                rows[0]++;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        args);
+            }
+            if (rows[0] == 0) return;
+            archiveStorageService.upload("activities/" + name + ".csv.gz", file, "application/gzip");
+            log.info("Archived {} ({} rows, {} bytes)", name, rows[0], Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            Timestamp upperBound = rs.getTimestamp("upper_bound");
+            return new Partition(rs.getString("name"), upperBound != null ? upperBound.toInstant() : null);
+        });
+    }
+
+    private void runLocked(Runnable step) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) {
+                step.run();
+            } else {
+                log.info("Activity partition maintenance running elsewhere, skipping step");
+            }
+        });
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private record Partition(String name, Instant upperBound) {}
+}
@@ -0,0 +1,43 @@
+package com.vaultx.user.context.jobs;
+
+import com.vaultx.user.context.model.activity.RollupGranularity;
+import com.vaultx.user.context.repository.ActivityRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs hourly and deletes activity rollups nobody reads any more: five-minute buckets older than
+ * {@code rollup.fine-retention}, daily buckets older than the activity retention.
+ */
+@Component
+@Slf4j
+public class ActivityRollupPruneJob {
+
+    private final ActivityRollupRepository rollupRepository;
+    private final Duration fineRetention;
+    private final Duration retention;
+
+    public ActivityRollupPruneJob(
+            ActivityRollupRepository rollupRepository,
+            @Value("${vaultx.activities.rollup.fine-retention:P2D}") Duration fineRetention,
+            @Value("${vaultx.activities.retention:P365D}") Duration retention) {
+        this.rollupRepository = rollupRepository;
+        this.fineRetention = fineRetention;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "0 5 * * * *")
+    public void prune() {
+        Instant now = Instant.now();
+        int fine = rollupRepository.deleteOlderThan(RollupGranularity.FIVE_MINUTES, now.minus(fineRetention));
+        int daily = rollupRepository.deleteOlderThan(RollupGranularity.DAY, now.minus(retention));
+        if (fine + daily > 0) {
+            log.info("Pruned {} five-minute and {} daily activity rollups", fine, daily);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vaultx.user.context.jobs;
+
+import com.vaultx.user.context.service.user.DIDEventAnchorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Anchors pending DID events under Merkle roots when {@code vaultx.did-events.anchoring.enabled} is
+ * set: every {@code poll-interval-ms} it closes batches that are full ({@code max-batch}) or whose
+ * oldest event has waited {@code window}, until none is due.
+ */
+@Component
+@ConditionalOnProperty(name = "vaultx.did-events.anchoring.enabled", havingValue = "true")
+@Slf4j
+public class DIDEventAnchorJob {
+
+    private final DIDEventAnchorService anchorService;
+    private final Duration window;
+    private final int maxBatch;
+
+    public DIDEventAnchorJob(
+            DIDEventAnchorService anchorService,
+            @Value("${vaultx.did-events.anchoring.window:PT1M}") Duration window,
+            @Value("${vaultx.did-events.anchoring.max-batch:1024}") int maxBatch) {
+        this.anchorService = anchorService;
+        this.window = window;
+        this.maxBatch = maxBatch;
+    }
+
+    @Scheduled(fixedDelayString = "${vaultx.did-events.anchoring.poll-interval-ms:5000}")
+    public void anchor() {
+        try {
+            int anchored;
+            do {
+                anchored = anchorService.anchorBatch(window, maxBatch);
+            } while (anchored == maxBatch);
+        } catch (Exception e) {
+            log.error("DID event anchoring failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.vaultx.user.context.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.service.kafka.KafkaProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes {@code did_event_outbox} rows to Kafka.
+ * <p>
+ * Each round locks up to {@code batch-size} unsent rows with {@code FOR UPDATE SKIP LOCKED}, so
+ * several instances relay disjoint batches in parallel, sends them, waits for the acks and marks the
+ * acknowledged rows sent in the same transaction. Rows that fail stay unsent with their attempt
+ * count and error, and are retried in a later round; after {@code max-attempts} they are parked
+ * with {@code failed_at} set and no longer claimed.
+ * <p>
+ * Rows with the same {@code event_key} (the user id) are published in id order: a round sends only
+ * the claimed rows that directly follow the key's oldest unsent row, one at a time, and stops the
+ * key at its first failure. Later rows of that key wait until the failed one is sent or parked, and
+ * rows behind an earlier one locked by another instance are left for a later round. Sent rows are deleted after
+ * {@code retention}, parked rows are kept for inspection.
+ * <p>
+ * Polling runs on its own thread rather than the shared scheduler, so long jobs never hold back
+ * the relay.
+ */
+@Component
+@Slf4j
+public class DIDEventOutboxRelay {
+
+    private static final String CLAIM_SQL =
+            """
+            select id, event_key, event_json, attempts from did_event_outbox
+            where sent_at is null and failed_at is null
+            order by id
+            limit ?
+            for update skip locked
+            """;
+    private static final String PENDING_SQL =
+            """
+            select id, event_key from did_event_outbox
+            where sent_at is null and failed_at is null and id <= ? and event_key in (%s)
+            order by id
+            """;
+    private static final String MARK_SENT_SQL = "update did_event_outbox set sent_at = ?, attempts = attempts + 1 where id = ?";
+    private static final String MARK_FAILED_SQL =
+            """
+            update did_event_outbox
+            set attempts = attempts + 1, last_error = ?, failed_at = case when attempts + 1 >= ? then ? end
+            where id = ?
+            """;
+    private static final String PRUNE_SQL = "delete from did_event_outbox where sent_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaProducer kafkaProducer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration ackTimeout;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final long pollIntervalMs;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter parked;
+    private final ScheduledExecutorService pollScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("did-event-outbox-relay").daemon().factory());
+
+    public DIDEventOutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            KafkaProducer kafkaProducer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${vaultx.did-events.outbox.batch-size:200}") int batchSize,
+            @Value("${vaultx.did-events.outbox.ack-timeout:PT10S}") Duration ackTimeout,
+            @Value("${vaultx.did-events.outbox.retention:P7D}") Duration retention,
+            @Value("${vaultx.did-events.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${vaultx.did-events.outbox.poll-interval-ms:500}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.kafkaProducer = kafkaProducer;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.ackTimeout = ackTimeout;
+        this.retention = retention;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sent = meterRegistry.counter("vaultx.did-events.outbox.relayed", "result", "sent");
+        this.failed = meterRegistry.counter("vaultx.did-events.outbox.relayed", "result", "failed");
+        this.parked = meterRegistry.counter("vaultx.did-events.outbox.relayed", "result", "parked");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        pollScheduler.scheduleWithFixedDelay(this::relay, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pollScheduler.shutdownNow();
+    }
+
+    void relay() {
+        try {
+            boolean backlog;
+            do {
+                backlog = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+            } while (backlog);
+        } catch (Exception e) {
+            log.error("DID event outbox relay failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 20 * * * *")
+    public void prune() {
+        int deleted = jdbcTemplate.update(PRUNE_SQL, Timestamp.from(Instant.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Pruned {} relayed DID events from the outbox", deleted);
+        }
+    }
+
+    /**
+     * @return whether the whole batch was sent and was full, i.e. more rows may be waiting
+     */
+    private boolean relayBatch() {
+        List<OutboxRow> rows = jdbcTemplate.query(
+                CLAIM_SQL,
+                (rs, rowNum) -> new OutboxRow(
+                        rs.getLong("id"), rs.getString("event_key"), rs.getString("event_json"), rs.getInt("attempts")),
+                batchSize);
+        if (rows.isEmpty()) return false;
+
+        // One chain per key: each row is sent after the previous one was acknowledged
+        Collection<List<OutboxRow>> queues = sendableByKey(rows);
+        AtomicBoolean open = new AtomicBoolean(true);
+        Set<Long> acked = ConcurrentHashMap.newKeySet();
+        Map<Long, Throwable> errors = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> chains = new ArrayList<>(queues.size());
+        for (List<OutboxRow> queue : queues) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (OutboxRow row : queue) {
+                chain = chain.thenCompose(previous -> open.get()
+                        ? send(row).whenComplete((result, e) -> {
+                            if (e == null) acked.add(row.id());
+                            else errors.put(row.id(), e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                        }).thenApply(result -> null)
+                        : CompletableFuture.failedFuture(new CancellationException()));
+            }
+            chains.add(chain);
+        }
+        try {
+            CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new))
+                    .get(ackTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Per-row outcomes are collected below
+        }
+        open.set(false);
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> sentRows = new ArrayList<>();
+        List<Object[]> failedRows = new ArrayList<>();
+        List<Long> parkedIds = new ArrayList<>();
+        for (List<OutboxRow> queue : queues) {
+            for (OutboxRow row : queue) {
+                if (acked.contains(row.id())) {
+                    sentRows.add(new Object[] {now, row.id()});
+                    continue;
+                }
+                // The key's first unacknowledged row failed or timed out; the rest were not sent
+                Throwable cause = errors.get(row.id());
+                String error = cause != null ? String.valueOf(cause) : "no ack within " + ackTimeout;
+                failedRows.add(new Object[] {error.length() > 1000 ? error.substring(0, 1000) : error, maxAttempts, now, row.id()});
+                if (row.attempts() + 1 >= maxAttempts) parkedIds.add(row.id());
+                break;
+            }
+        }
+        if (!sentRows.isEmpty()) jdbcTemplate.batchUpdate(MARK_SENT_SQL, sentRows);
+        if (!failedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failedRows);
+            log.warn("{} of {} outbox DID events were not acknowledged, retrying later", failedRows.size(), rows.size());
+        }
+        if (!parkedIds.isEmpty()) {
+            log.error("Gave up on outbox DID events {} after {} attempts; clear failed_at to retry them", parkedIds, maxAttempts);
+        }
+        sent.increment(sentRows.size());
+        failed.increment(failedRows.size());
+        parked.increment(parkedIds.size());
+
+        // Back off on failures and blocked keys instead of spinning on the same rows
+        return sentRows.size() == rows.size() && rows.size() == batchSize;
+    }
+
+    private CompletableFuture<?> send(OutboxRow row) {
+        try {
+            return kafkaProducer.sendDIDEvent(objectMapper.readValue(row.eventJson(), DIDEvent.class));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Groups the claimed rows by key and keeps, per key, only the run that starts at the key's oldest
+     * unsent row. Rows without a key (written before keys were recorded) are sent on their own.
+     */
+    private Collection<List<OutboxRow>> sendableByKey(List<OutboxRow> rows) {
+        Map<Object, List<OutboxRow>> byKey = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            byKey.computeIfAbsent(row.eventKey() != null ? row.eventKey() : row.id(), key -> new ArrayList<>()).add(row);
+        }
+        List<String> keys = rows.stream().map(OutboxRow::eventKey).filter(Objects::nonNull).distinct().toList();
+        if (keys.isEmpty()) return byKey.values();
+
+        Map<String, List<Long>> pending = new HashMap<>();
+        List<Object> args = new ArrayList<>(keys.size() + 1);
+        args.add(rows.get(rows.size() - 1).id());
+        args.addAll(keys);
+        jdbcTemplate.query(
+                PENDING_SQL.formatted(String.join(", ", Collections.nCopies(keys.size(), "?"))),
+                rs -> {
+                    pending.computeIfAbsent(rs.getString("event_key"), key -> new ArrayList<>()).add(rs.getLong("id"));
+                },
+                args.toArray());
+
+        for (String key : keys) {
+            List<OutboxRow> claimed = byKey.get(key);
+            List<Long> unsent = pending.getOrDefault(key, List.of());
+            int run = 0;
+            while (run < claimed.size() && run < unsent.size() && unsent.get(run) == claimed.get(run).id()) run++;
+            if (run == 0) byKey.remove(key);
+            else if (run < claimed.size()) byKey.put(key, claimed.subList(0, run));
+        }
+        return byKey.values();
+    }
+
+    private record OutboxRow(long id, String eventKey, String eventJson, int attempts) {}
+}
@@ -0,0 +1,58 @@
+package com.vaultx.user.context.jobs;
+
+import com.vaultx.user.context.service.user.BlockchainService;
+import com.vaultx.user.context.service.user.DIDEventMirrorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reconciles the local {@code did_events} mirror with the ledger, a batch of users per run: first
+ * users whose published events are still unconfirmed after {@code pending-grace}, then users not
+ * reconciled within {@code resync-interval}. A failing user is retried on a later run.
+ */
+@Component
+@Slf4j
+public class DIDEventReconciliationJob {
+
+    private final BlockchainService blockchainService;
+    private final DIDEventMirrorService mirrorService;
+    private final Duration pendingGrace;
+    private final Duration resyncInterval;
+    private final int batchSize;
+
+    public DIDEventReconciliationJob(
+            BlockchainService blockchainService,
+            DIDEventMirrorService mirrorService,
+            @Value("${vaultx.did-events.reconcile.pending-grace:PT1M}") Duration pendingGrace,
+            @Value("${vaultx.did-events.reconcile.resync-interval:PT24H}") Duration resyncInterval,
+            @Value("${vaultx.did-events.reconcile.batch-size:50}") int batchSize) {
+        this.blockchainService = blockchainService;
+        this.mirrorService = mirrorService;
+        this.pendingGrace = pendingGrace;
+        this.resyncInterval = resyncInterval;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelay = 30_000, fixedDelayString = "${vaultx.did-events.reconcile.delay-ms:60000}")
+    public void reconcile() {
+        List<UUID> users = mirrorService.usersToReconcile(pendingGrace, resyncInterval, batchSize);
+        int failed = 0;
+        for (UUID userId : users) {
+            try {
+                blockchainService.syncUser(userId);
+            } catch (Exception e) {
+                failed++;
+                log.warn("DID event reconciliation failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+        if (!users.isEmpty()) {
+            log.info("Reconciled DID events of {} users ({} failed)", users.size() - failed, failed);
+        }
+    }
+}
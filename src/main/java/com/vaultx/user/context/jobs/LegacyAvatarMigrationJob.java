@@ -0,0 +1,104 @@
+package com.vaultx.user.context.jobs;
+
+import com.vaultx.user.context.service.user.AvatarService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves avatars still stored as base64 in the legacy {@code users.profile_image} column to MinIO,
+ * 100 rows per run in id order, and clears the column once a row's upload succeeded. Rows whose
+ * upload fails (e.g. MinIO unavailable) keep their image and are retried on the next pass over the
+ * table; only values that are not valid base64 are cleared without a copy. Stops for the lifetime of
+ * the process once nothing is left (or the column does not exist); the column can then be dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyAvatarMigrationJob {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AvatarService avatarService;
+
+    private volatile boolean finished;
+
+    /**
+     * Last id of the current pass; {@code null} starts a new pass.
+     */
+    private volatile UUID cursor;
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void migrateBatch() {
+        if (finished) return;
+        if (!legacyColumnExists()) {
+            finished = true;
+            return;
+        }
+
+        UUID after = cursor;
+        List<Map<String, Object>> rows = after == null
+                ? jdbcTemplate.queryForList(
+                        "select id, profile_image from users where profile_image is not null order by id limit ?", BATCH_SIZE)
+                : jdbcTemplate.queryForList(
+                        "select id, profile_image from users where profile_image is not null and id > ? order by id limit ?",
+                        after, BATCH_SIZE);
+        if (rows.isEmpty()) {
+            if (after == null) {
+                log.info("Legacy avatar migration complete");
+                finished = true;
+            } else {
+                // End of this pass; rows that failed are retried from the start on the next run
+                cursor = null;
+            }
+            return;
+        }
+
+        int migrated = 0;
+        int invalid = 0;
+        int failed = 0;
+        for (Map<String, Object> row : rows) {
+            UUID userId = (UUID) row.get("id");
+            byte[] png;
+            try {
+                png = Base64.getDecoder().decode((String) row.get("profile_image"));
+            } catch (IllegalArgumentException e) {
+                // Unusable either way: the user gets a freshly generated avatar on next request
+                log.warn("Dropping invalid legacy avatar of user {}: {}", userId, e.getMessage());
+                clear(userId);
+                invalid++;
+                continue;
+            }
+            try {
+                avatarService.storeAvatar(userId, png);
+                clear(userId);
+                migrated++;
+            } catch (Exception e) {
+                log.warn("Could not migrate avatar of user {}, retrying later: {}", userId, e.getMessage());
+                failed++;
+            }
+        }
+        cursor = (UUID) rows.get(rows.size() - 1).get("id");
+        log.info("Migrated {} of {} legacy avatars to object storage ({} invalid, {} to retry)",
+                migrated, rows.size(), invalid, failed);
+    }
+
+    private void clear(UUID userId) {
+        jdbcTemplate.update("update users set profile_image = null where id = ?", userId);
+    }
+
+    private boolean legacyColumnExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns where table_name = 'users' and column_name = 'profile_image'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,421 @@
+package com.vaultx.user.context.loadgen;
+
+import com.vaultx.user.context.model.activity.Activity;
+import com.vaultx.user.context.model.activity.ActivityType;
+import com.vaultx.user.context.model.messaging.ChatMessage;
+import com.vaultx.user.context.model.messaging.ChatRequest;
+import com.vaultx.user.context.model.messaging.ChatRequestStatus;
+import com.vaultx.user.context.model.messaging.GroupChat;
+import com.vaultx.user.context.model.messaging.GroupChatMessage;
+import com.vaultx.user.context.model.user.Role;
+import com.vaultx.user.context.model.user.RoleType;
+import com.vaultx.user.context.model.user.User;
+import com.vaultx.user.context.model.user.UserBlock;
+import com.vaultx.user.context.repository.RoleRepository;
+import com.vaultx.user.context.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+/**
+ * Bulk-loads a synthetic, production-shaped dataset when the {@code loadgen} profile is active, e.g.
+ * {@code --spring.profiles.active=local,loadgen}.
+ * <p>
+ * Rows are built from the regular entities and inserted through a Hibernate {@link StatelessSession}
+ * with JDBC batching, committing every {@code vaultx.loadgen.commit-interval} rows; the join tables
+ * the stateless session does not write ({@code user_role}, {@code group_chat_participants}) use
+ * batched JDBC inserts. Conversation sizes, active users and group traffic follow Zipf distributions.
+ * <p>
+ * Every entity type draws from its own random stream derived from {@code vaultx.loadgen.seed}, so the
+ * same settings always produce the same data (apart from generated ids); changing one count does not
+ * reshuffle the others. All users share the password {@code vaultx.loadgen.password}.
+ */
+@Component
+@Profile("loadgen")
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private final SessionFactory sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+
+    @Value("${vaultx.loadgen.seed:42}")
+    private long seed;
+
+    @Value("${vaultx.loadgen.users:100000}")
+    private int users;
+
+    @Value("${vaultx.loadgen.conversations:200000}")
+    private int conversations;
+
+    @Value("${vaultx.loadgen.messages:2000000}")
+    private long messages;
+
+    @Value("${vaultx.loadgen.conversation-skew:1.1}")
+    private double conversationSkew;
+
+    @Value("${vaultx.loadgen.user-activity-skew:0.8}")
+    private double userActivitySkew;
+
+    @Value("${vaultx.loadgen.blocks:20000}")
+    private int blocks;
+
+    @Value("${vaultx.loadgen.chat-requests:50000}")
+    private int chatRequests;
+
+    @Value("${vaultx.loadgen.groups:10000}")
+    private int groups;
+
+    @Value("${vaultx.loadgen.max-group-size:50}")
+    private int maxGroupSize;
+
+    @Value("${vaultx.loadgen.group-messages:500000}")
+    private long groupMessages;
+
+    @Value("${vaultx.loadgen.activities:1000000}")
+    private long activities;
+
+    @Value("${vaultx.loadgen.history:P180D}")
+    private Duration history;
+
+    @Value("${vaultx.loadgen.username-prefix:lg}")
+    private String usernamePrefix;
+
+    @Value("${vaultx.loadgen.password:loadgen-password}")
+    private String password;
+
+    @Value("${vaultx.loadgen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${vaultx.loadgen.commit-interval:20000}")
+    private int commitInterval;
+
+    @Value("${vaultx.loadgen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private UUID[] userIds;
+    private int[][] groupMembers;
+    private UUID[] groupIds;
+    private Instant until;
+
+    public SyntheticDataGenerator(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            RoleRepository roleRepository,
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            ApplicationContext applicationContext) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.findUserByUsername(username(0)).isPresent()) {
+            log.warn("Synthetic dataset with prefix '{}' already present, nothing generated", usernamePrefix);
+        } else {
+            generate();
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generate() {
+        long startedAt = System.nanoTime();
+        until = Instant.now().truncatedTo(ChronoUnit.DAYS);
+
+        generateUsers();
+        generateMessages();
+        generateBlocks();
+        generateChatRequests();
+        generateGroups();
+        generateGroupMessages();
+        generateActivities();
+
+        log.info("Synthetic dataset generated in {} s", Duration.ofNanos(System.nanoTime() - startedAt).toSeconds());
+    }
+
+    private void generateUsers() {
+        SplittableRandom random = stream(1);
+        String passwordHash = passwordEncoder.encode(password);
+        userIds = new UUID[users];
+
+        insert("users", users, i -> {
+            Instant createdAt = randomInstant(random);
+            return User.builder()
+                    .username(username((int) i))
+                    .email(username((int) i) + "@loadgen.vaultx.net")
+                    .password(passwordHash)
+                    .publicKey(randomBase64(random, 294))
+                    .currentKeyVersion("v1")
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .lastSeen(randomInstant(random))
+                    .build();
+        }, (i, id) -> userIds[(int) i] = (UUID) id);
+
+        Long userRole = role(RoleType.USER).getRoleId();
+        Long verifiedRole = role(RoleType.VERIFIED).getRoleId();
+        List<Object[]> rows = new ArrayList<>(2 * batchSize);
+        for (UUID userId : userIds) {
+            rows.add(new Object[] {userId, userRole});
+            rows.add(new Object[] {userId, verifiedRole});
+            if (rows.size() >= commitInterval) {
+                jdbcTemplate.batchUpdate("insert into user_role (user_id, role_id) values (?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into user_role (user_id, role_id) values (?, ?)", rows);
+        }
+    }
+
+    private void generateMessages() {
+        SplittableRandom random = stream(2);
+        int[][] pairs = new int[conversations][];
+        for (int c = 0; c < conversations; c++) {
+            pairs[c] = randomPair(random);
+        }
+        ZipfDistribution conversationSize = new ZipfDistribution(conversations, conversationSkew);
+
+        insert("chat_messages", messages, i -> {
+            int[] pair = pairs[conversationSize.sample(random)];
+            boolean forward = random.nextBoolean();
+            LocalDateTime timestamp = LocalDateTime.ofInstant(randomInstant(random), ZoneOffset.UTC);
+            boolean read = random.nextDouble() < 0.9;
+            return ChatMessage.builder()
+                    .sender(userRef(forward ? pair[0] : pair[1]))
+                    .recipient(userRef(forward ? pair[1] : pair[0]))
+                    .senderKeyVersion("v1")
+                    .recipientKeyVersion("v1")
+                    .ciphertext(randomBase64(random, 16 + random.nextInt(512)))
+                    .iv(randomBase64(random, 12))
+                    .encryptedKeyForSender(randomBase64(random, 256))
+                    .encryptedKeyForRecipient(randomBase64(random, 256))
+                    .timestamp(timestamp)
+                    .isRead(read)
+                    .readTimestamp(read ? timestamp.plusSeconds(random.nextInt(3600)) : null)
+                    .build();
+        }, null);
+    }
+
+    private void generateBlocks() {
+        SplittableRandom random = stream(3);
+        Set<Long> seen = new HashSet<>();
+
+        insert("user_blocks", blocks, i -> {
+            int[] pair;
+            do {
+                pair = randomPair(random);
+            } while (!seen.add((long) pair[0] * users + pair[1]));
+            return UserBlock.builder()
+                    .blocker(userRef(pair[0]))
+                    .blocked(userRef(pair[1]))
+                    .createdAt(randomInstant(random))
+                    .build();
+        }, null);
+    }
+
+    private void generateChatRequests() {
+        SplittableRandom random = stream(4);
+        ChatRequestStatus[] statuses = ChatRequestStatus.values();
+
+        insert("chat_requests", chatRequests, i -> {
+            int[] pair = randomPair(random);
+            LocalDateTime timestamp = LocalDateTime.ofInstant(randomInstant(random), ZoneOffset.UTC);
+            // Roughly half pending, the rest spread over the final states
+            ChatRequestStatus status =
+                    random.nextBoolean() ? ChatRequestStatus.PENDING : statuses[1 + random.nextInt(statuses.length - 1)];
+            return ChatRequest.builder()
+                    .requester(userRef(pair[0]))
+                    .recipient(userRef(pair[1]))
+                    .ciphertext(randomBase64(random, 16 + random.nextInt(256)))
+                    .iv(randomBase64(random, 12))
+                    .encryptedKeyForSender(randomBase64(random, 256))
+                    .encryptedKeyForRecipient(randomBase64(random, 256))
+                    .senderKeyVersion("v1")
+                    .recipientKeyVersion("v1")
+                    .status(status)
+                    .timestamp(timestamp)
+                    .createdAt(timestamp)
+                    .updatedAt(timestamp)
+                    .build();
+        }, null);
+    }
+
+    private void generateGroups() {
+        SplittableRandom random = stream(5);
+        groupIds = new UUID[groups];
+        groupMembers = new int[groups][];
+        ZipfDistribution groupSize = new ZipfDistribution(Math.max(1, maxGroupSize - 2), 1.0);
+
+        insert("group_chats", groups, i -> {
+            int size = 3 + groupSize.sample(random);
+            Set<Integer> members = new HashSet<>();
+            while (members.size() < Math.min(size, users)) {
+                members.add(random.nextInt(users));
+            }
+            groupMembers[(int) i] = members.stream().mapToInt(Integer::intValue).toArray();
+            Instant createdAt = randomInstant(random);
+            return GroupChat.builder()
+                    .groupName("Group " + i)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build();
+        }, (i, id) -> groupIds[(int) i] = (UUID) id);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            for (int member : groupMembers[g]) {
+                rows.add(new Object[] {groupIds[g], userIds[member]});
+            }
+            if (rows.size() >= commitInterval) {
+                jdbcTemplate.batchUpdate(
+                        "insert into group_chat_participants (group_chat_id, user_id) values (?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into group_chat_participants (group_chat_id, user_id) values (?, ?)", rows);
+        }
+    }
+
+    private void generateGroupMessages() {
+        if (groups == 0) return;
+        SplittableRandom random = stream(6);
+        ZipfDistribution groupTraffic = new ZipfDistribution(groups, conversationSkew);
+
+        insert("group_chat_messages", groupMessages, i -> {
+            int group = groupTraffic.sample(random);
+            int[] members = groupMembers[group];
+            GroupChat groupRef = new GroupChat();
+            groupRef.setId(groupIds[group]);
+            return GroupChatMessage.builder()
+                    .group(groupRef)
+                    .sender(userRef(members[random.nextInt(members.length)]))
+                    .content(randomBase64(random, 16 + random.nextInt(512)))
+                    .timestamp(randomInstant(random))
+                    .build();
+        }, null);
+    }
+
+    private void generateActivities() {
+        SplittableRandom random = stream(7);
+        ActivityType[] types = ActivityType.values();
+        ZipfDistribution activeUsers = new ZipfDistribution(users, userActivitySkew);
+
+        insert("user_activities", activities, i -> {
+            ActivityType type = types[random.nextInt(types.length)];
+            boolean unusual = random.nextDouble() < 0.01;
+            return Activity.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .user(userRef(activeUsers.sample(random)))
+                    .type(type)
+                    .description("Synthetic " + type.name().toLowerCase() + " activity")
+                    .timestamp(randomInstant(random))
+                    .isUnusual(unusual)
+                    .details(unusual ? "IP: 10.0." + random.nextInt(256) + "." + random.nextInt(256) : null)
+                    .build();
+        }, null);
+    }
+
+    /**
+     * Inserts {@code total} entities produced by {@code factory}, reporting each generated id to
+     * {@code onInserted} when given.
+     */
+    private void insert(String label, long total, LongFunction<Object> factory, IdConsumer onInserted) {
+        long startedAt = System.nanoTime();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            for (long i = 0; i < total; i++) {
+                Object id = session.insert(factory.apply(i));
+                if (onInserted != null) {
+                    onInserted.accept(i, id);
+                }
+                if ((i + 1) % commitInterval == 0) {
+                    transaction.commit();
+                    transaction = session.beginTransaction();
+                    log.info("{}: {}/{}", label, i + 1, total);
+                }
+            }
+            transaction.commit();
+        }
+        long seconds = Math.max(1, Duration.ofNanos(System.nanoTime() - startedAt).toSeconds());
+        log.info("{}: {} rows in {} s ({} rows/s)", label, total, seconds, total / seconds);
+    }
+
+    private Role role(RoleType roleType) {
+        return roleRepository
+                .findByAuthority(roleType.getValue())
+                .orElseGet(() -> roleRepository.save(Role.from(roleType)));
+    }
+
+    private SplittableRandom stream(int entityType) {
+        return new SplittableRandom(seed * 31 + entityType);
+    }
+
+    private int[] randomPair(SplittableRandom random) {
+        int a = random.nextInt(users);
+        int b = random.nextInt(users - 1);
+        return new int[] {a, b >= a ? b + 1 : b};
+    }
+
+    private User userRef(int index) {
+        User user = new User();
+        user.setId(userIds[index]);
+        return user;
+    }
+
+    private Instant randomInstant(SplittableRandom random) {
+        return until.minusSeconds(random.nextLong(history.toSeconds()));
+    }
+
+    private String username(int index) {
+        return usernamePrefix + "_" + index;
+    }
+
+    private static String randomBase64(SplittableRandom random, int bytes) {
+        byte[] buffer = new byte[bytes];
+        random.nextBytes(buffer);
+        return Base64.getEncoder().encodeToString(buffer);
+    }
+
+    @FunctionalInterface
+    private interface IdConsumer {
+        void accept(long index, Object id);
+    }
+}
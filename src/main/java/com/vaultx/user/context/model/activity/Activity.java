@@ -10,7 +10,12 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
-@Table(name = "user_activities")
+@Table(
+        name = "user_activities",
+        indexes = {
+            @Index(name = "idx_user_activities_user_type_ts", columnList = "user_id, type, timestamp"),
+            @Index(name = "idx_user_activities_user_ts", columnList = "user_id, timestamp")
+        })
 @Data
 @Builder
 @NoArgsConstructor
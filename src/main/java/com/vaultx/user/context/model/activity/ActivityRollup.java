@@ -0,0 +1,32 @@
+package com.vaultx.user.context.model.activity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of activities of one user, type and unusual flag within one time bucket. Maintained by the
+ * activity writer together with the raw rows, so counts over a period read a handful of buckets
+ * instead of the user's whole history.
+ */
+@Entity
+@Table(
+        name = "user_activity_rollups",
+        indexes = {
+            @Index(
+                    name = "idx_activity_rollups_user",
+                    columnList = "user_id, granularity, type, is_unusual, bucket_start"),
+            @Index(name = "idx_activity_rollups_granularity_bucket", columnList = "granularity, bucket_start")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollup {
+
+    @EmbeddedId
+    private ActivityRollupId id;
+
+    @Column(name = "activity_count", nullable = false)
+    private long count;
+}
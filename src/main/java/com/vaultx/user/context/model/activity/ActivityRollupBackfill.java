@@ -0,0 +1,35 @@
+package com.vaultx.user.context.model.activity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The one-off backfill of {@link ActivityRollup}s: activities before {@code cutoff} are added by the
+ * backfill, newer ones were counted by the activity writer. A single row, id {@link #ID}.
+ */
+@Entity
+@Table(name = "activity_rollup_backfill")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollupBackfill {
+
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(name = "cutoff", nullable = false)
+    private Instant cutoff;
+
+    /** {@code null} until the backfill has run. */
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,17 @@
+package com.vaultx.user.context.model.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStatsBucketDTO {
+    private Instant bucketStart;
+    private String type;
+    private boolean unusual;
+    private long count;
+}
@@ -0,0 +1,23 @@
+package com.vaultx.user.context.model.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStatsDTO {
+    private Instant from;
+    private Instant to;
+    private String granularity;
+    private Map<String, Long> totalsByType;
+    private long unusualTotal;
+    private List<ActivityStatsBucketDTO> buckets;
+}
@@ -0,0 +1,24 @@
+package com.vaultx.user.context.model.activity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bucket sizes of {@link ActivityRollup}. Buckets are aligned to the epoch (UTC).
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RollupGranularity {
+    FIVE_MINUTES(Duration.ofMinutes(5)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration size;
+
+    public Instant bucketStart(Instant timestamp) {
+        long seconds = size.toSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(timestamp.getEpochSecond(), seconds) * seconds);
+    }
+}
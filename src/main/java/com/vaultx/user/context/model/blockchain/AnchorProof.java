@@ -0,0 +1,34 @@
+package com.vaultx.user.context.model.blockchain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Where an anchored event sits in its batch's Merkle tree, and whether its proof checks out against
+ * the root. {@code anchorEventId} is {@code null} while the event waits for the next batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnchorProof {
+    private UUID anchorEventId;
+    private String merkleRoot;
+    private Integer leafIndex;
+    private String leafHash;
+    private String proof;
+
+    /**
+     * Whether the root event has been seen on the ledger.
+     */
+    private boolean anchorConfirmed;
+
+    /**
+     * Whether the event's current content hashes, through the proof, to the root.
+     */
+    private boolean verified;
+}
@@ -1,5 +1,6 @@
 package com.vaultx.user.context.model.blockchain;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,6 +30,12 @@ public class DIDEvent {
     private String payloadHash;
     private String docType;
 
+    /**
+     * Inclusion proof, set on reads of events anchored through a Merkle root.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AnchorProof anchor;
+
     public DIDEvent(UUID id, String publicKey, EventType eventType, Instant now, String jsonPayload) {
         this.userId = id;
         this.publicKey = publicKey;
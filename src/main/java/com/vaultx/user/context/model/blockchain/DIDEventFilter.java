@@ -0,0 +1,30 @@
+package com.vaultx.user.context.model.blockchain;
+
+import com.vaultx.user.context.utils.KeysetCursor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filter and position for one page of a user's DID events. Everything except {@code userId} and
+ * {@code limit} is optional.
+ */
+@Data
+@Builder
+public class DIDEventFilter {
+    private UUID userId;
+    private EventType type;
+    /** Inclusive lower bound on the timestamp. */
+    private Instant from;
+    /** Inclusive upper bound on the timestamp. */
+    private Instant to;
+    /** Top-level payload fields that must equal the given text values. */
+    private Map<String, String> payloadFields;
+    /** Free text matched against payload values and the event type name. */
+    private String text;
+    private KeysetCursor after;
+    private int limit;
+}
@@ -0,0 +1,65 @@
+package com.vaultx.user.context.model.blockchain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A DID event waiting to be published to Kafka, written in the same transaction as the change that
+ * produced it and relayed by {@link com.vaultx.user.context.jobs.DIDEventOutboxRelay}.
+ */
+@Entity
+@Table(
+        name = "did_event_outbox",
+        indexes = {
+            @Index(name = "idx_did_event_outbox_claimable", columnList = "sent_at, failed_at, id"),
+            @Index(name = "idx_did_event_outbox_key", columnList = "event_key, id")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DIDEventOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    /**
+     * Kafka record key (the user id); rows with the same key are relayed in id order.
+     */
+    @Column(name = "event_key", length = 64)
+    private String eventKey;
+
+    /**
+     * The {@link DIDEvent} as JSON.
+     */
+    @Column(name = "event_json", nullable = false, columnDefinition = "TEXT")
+    private String eventJson;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    /**
+     * Set when the relay gave up after {@code vaultx.did-events.outbox.max-attempts}; such rows are
+     * no longer claimed.
+     */
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,134 @@
+package com.vaultx.user.context.model.blockchain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Local read model of a {@link DIDEvent}. Rows are written when the event is published
+ * ({@code confirmed = false}) and overwritten with the ledger's copy during reconciliation. Events
+ * anchored through a Merkle root are never on the ledger themselves; they keep their proof here and
+ * are confirmed together with their root.
+ */
+@Entity
+@Table(
+        name = "did_events",
+        indexes = {
+            @Index(name = "idx_did_events_user_type_ts", columnList = "user_id, event_type, timestamp"),
+            @Index(name = "idx_did_events_user_ts", columnList = "user_id, timestamp"),
+            @Index(name = "idx_did_events_file", columnList = "file_id"),
+            @Index(name = "idx_did_events_anchor", columnList = "anchor_id")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DIDEventRecord {
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "public_key", columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Column(nullable = false)
+    private Instant timestamp;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * The payload when it is a JSON object, for field filters and the full-text index.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload_json", columnDefinition = "jsonb")
+    private String payloadJson;
+
+    @Column(name = "payload_hash")
+    private String payloadHash;
+
+    @Column(name = "kafka_offset")
+    private long kafkaOffset;
+
+    @Column(name = "doc_type")
+    private String docType;
+
+    /**
+     * Set for {@link EventType#FILE_UPLOAD} events, taken from the payload.
+     */
+    @Column(name = "file_id")
+    private UUID fileId;
+
+    /**
+     * Whether the row has been seen on the ledger.
+     */
+    @Column(nullable = false)
+    private boolean confirmed;
+
+    /**
+     * Hex Merkle leaf hash, set when the event is anchored through a batch root instead of being
+     * published on its own.
+     */
+    @Column(name = "leaf_hash", length = 64)
+    private String leafHash;
+
+    /**
+     * The {@link EventType#MERKLE_ROOT_ANCHORED} event whose root includes this event.
+     */
+    @Column(name = "anchor_id")
+    private UUID anchorId;
+
+    @Column(name = "leaf_index")
+    private Integer leafIndex;
+
+    /**
+     * Inclusion proof in {@link com.vaultx.user.context.utils.MerkleTree#encodeProof} form.
+     */
+    @Column(name = "merkle_proof", columnDefinition = "TEXT")
+    private String merkleProof;
+
+    public static DIDEventRecord from(DIDEvent event, UUID fileId, String payloadJson, boolean confirmed) {
+        return DIDEventRecord.builder()
+                .eventId(event.getEventId())
+                .userId(event.getUserId())
+                .publicKey(event.getPublicKey())
+                .eventType(event.getEventType())
+                .timestamp(event.getTimestamp())
+                .payload(event.getPayload())
+                .payloadJson(payloadJson)
+                .payloadHash(event.getPayloadHash())
+                .kafkaOffset(event.getKafkaOffset())
+                .docType(event.getDocType())
+                .fileId(fileId)
+                .confirmed(confirmed)
+                .build();
+    }
+
+    public DIDEvent toEvent() {
+        return DIDEvent.builder()
+                .eventId(eventId)
+                .userId(userId)
+                .publicKey(publicKey)
+                .eventType(eventType)
+                .timestamp(timestamp)
+                .payload(payload)
+                .payloadHash(payloadHash)
+                .kafkaOffset(kafkaOffset)
+                .docType(docType)
+                .build();
+    }
+}
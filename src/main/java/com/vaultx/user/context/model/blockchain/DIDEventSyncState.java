@@ -0,0 +1,32 @@
+package com.vaultx.user.context.model.blockchain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * When a user's {@link DIDEventRecord mirrored events} were last reconciled against the ledger.
+ */
+@Entity
+@Table(name = "did_event_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DIDEventSyncState {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "last_synced_at", nullable = false)
+    private Instant lastSyncedAt;
+
+    @Column(name = "ledger_event_count", nullable = false)
+    private int ledgerEventCount;
+}
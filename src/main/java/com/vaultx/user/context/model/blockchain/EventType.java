@@ -6,4 +6,8 @@ public enum EventType {
     USER_ROLE_CHANGED,
     CHAT_CREATED,
     FILE_UPLOAD,
+    /**
+     * Merkle root of a batch of anchored events; see {@link com.vaultx.user.context.service.user.DIDEventAnchorService}.
+     */
+    MERKLE_ROOT_ANCHORED,
 }
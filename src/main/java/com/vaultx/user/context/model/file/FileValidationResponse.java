@@ -14,4 +14,8 @@ public class FileValidationResponse {
     private String blockchainHash;
     private String currentHash;
     private Long uploadTimestamp;
+    /**
+     * Root the upload event was anchored under, when Merkle anchoring is used.
+     */
+    private String merkleRoot;
 }
\ No newline at end of file
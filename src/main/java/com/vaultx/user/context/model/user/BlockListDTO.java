@@ -0,0 +1,21 @@
+package com.vaultx.user.context.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Everyone the user blocked and everyone who blocked the user. {@code version} changes whenever either
+ * set changes and is also sent as the response ETag.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockListDTO {
+    private Set<UUID> blocked;
+    private Set<UUID> blockedBy;
+    private long version;
+}
@@ -0,0 +1,10 @@
+package com.vaultx.user.context.model.user;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published when {@code blockerId} blocked or unblocked {@code blockedIds}; cached block sets of all
+ * of them are dropped once the transaction commits.
+ */
+public record BlocksChangedEvent(UUID blockerId, Collection<UUID> blockedIds) {}
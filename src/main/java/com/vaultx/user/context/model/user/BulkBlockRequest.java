@@ -0,0 +1,24 @@
+package com.vaultx.user.context.model.user;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBlockRequest {
+    /**
+     * Most users one request may block; keeps the lookups' IN lists and the activity entry bounded.
+     */
+    public static final int MAX_USERS = 100;
+
+    @NotNull
+    @Size(max = MAX_USERS)
+    private List<@NotNull UUID> userIds;
+}
@@ -57,9 +57,6 @@ public class User implements UserDetails {
     @Column(name = "is_online")
     private boolean isOnline;
 
-    @Column(name = "refresh_token", length = 2048)
-    private String refreshToken;
-
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_role",
@@ -77,8 +74,11 @@ public class User implements UserDetails {
     @Column(name = "current_key_version")
     private String currentKeyVersion;
 
-    @Column(name = "profile_image", columnDefinition = "TEXT")
-    private String profileImage;
+    /**
+     * Version (content hash) of the avatar object in storage; the image itself lives in MinIO.
+     */
+    @Column(name = "avatar_version", length = 16)
+    private String avatarVersion;
 
     @Column(name = "is_enabled")
     @Builder.Default
@@ -10,7 +10,12 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "user_blocks")
+@Table(
+        name = "user_blocks",
+        indexes = {
+            @Index(name = "idx_user_blocks_blocker_blocked", columnList = "blocker_id, blocked_id"),
+            @Index(name = "idx_user_blocks_blocked", columnList = "blocked_id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,8 @@
+package com.vaultx.user.context.model.user;
+
+import java.util.UUID;
+
+/**
+ * Published once a new user row has been saved; listeners run follow-up work off the request path.
+ */
+public record UserRegisteredEvent(UUID userId) {}
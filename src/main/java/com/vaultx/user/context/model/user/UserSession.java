@@ -28,4 +28,10 @@ public class UserSession {
 
     @JsonProperty("updated_at")
     private Instant updatedAt;
+
+    @JsonProperty("device_id")
+    private String deviceId;
+
+    @JsonProperty("expires_at")
+    private Instant expiresAt;
 }
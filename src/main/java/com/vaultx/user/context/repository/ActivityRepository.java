@@ -1,19 +1,10 @@
 package com.vaultx.user.context.repository;
 
 import com.vaultx.user.context.model.activity.Activity;
-import com.vaultx.user.context.model.activity.ActivityType;
-import com.vaultx.user.context.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
-import java.util.List;
-import java.util.UUID;
-
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, String> {
-    List<Activity> findByUserOrderByTimestampDesc(User user);
-
-    int countByUserIdAndTypeAndIsUnusualAndTimestampAfter(
-            UUID userId, ActivityType type, boolean isUnusual, Instant timestamp);
+public interface ActivityRepository extends JpaRepository<Activity, String>, JpaSpecificationExecutor<Activity> {
 }
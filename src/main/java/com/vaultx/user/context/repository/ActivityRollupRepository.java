@@ -0,0 +1,40 @@
+package com.vaultx.user.context.repository;
+
+import com.vaultx.user.context.model.activity.ActivityRollup;
+import com.vaultx.user.context.model.activity.ActivityRollupId;
+import com.vaultx.user.context.model.activity.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, ActivityRollupId> {
+
+    /**
+     * Rows of [bucketStart, type, unusual, count] for all users, ordered by bucket.
+     */
+    @Query("select r.id.bucketStart, r.id.type, r.id.unusual, sum(r.count) from ActivityRollup r "
+            + "where r.id.granularity = :granularity and r.id.bucketStart >= :from and r.id.bucketStart < :to "
+            + "group by r.id.bucketStart, r.id.type, r.id.unusual order by r.id.bucketStart")
+    List<Object[]> series(RollupGranularity granularity, Instant from, Instant to);
+
+    /**
+     * Same as {@link #series} for a single user.
+     */
+    @Query("select r.id.bucketStart, r.id.type, r.id.unusual, sum(r.count) from ActivityRollup r "
+            + "where r.id.userId = :userId and r.id.granularity = :granularity "
+            + "and r.id.bucketStart >= :from and r.id.bucketStart < :to "
+            + "group by r.id.bucketStart, r.id.type, r.id.unusual order by r.id.bucketStart")
+    List<Object[]> seriesForUser(UUID userId, RollupGranularity granularity, Instant from, Instant to);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ActivityRollup r where r.id.granularity = :granularity and r.id.bucketStart < :before")
+    int deleteOlderThan(RollupGranularity granularity, Instant before);
+}
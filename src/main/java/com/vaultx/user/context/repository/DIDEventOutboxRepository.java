@@ -0,0 +1,9 @@
+package com.vaultx.user.context.repository;
+
+import com.vaultx.user.context.model.blockchain.DIDEventOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DIDEventOutboxRepository extends JpaRepository<DIDEventOutboxEntry, Long> {
+}
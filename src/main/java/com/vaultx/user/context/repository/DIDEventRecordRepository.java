@@ -0,0 +1,49 @@
+package com.vaultx.user.context.repository;
+
+import com.vaultx.user.context.model.blockchain.DIDEventRecord;
+import com.vaultx.user.context.model.blockchain.EventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DIDEventRecordRepository extends JpaRepository<DIDEventRecord, UUID> {
+
+    /**
+     * Rows of [eventType, count] for the user.
+     */
+    @Query("select e.eventType, count(e) from DIDEventRecord e where e.userId = :userId group by e.eventType")
+    List<Object[]> countByType(UUID userId);
+
+    List<DIDEventRecord> findByUserIdAndConfirmedFalse(UUID userId);
+
+    /**
+     * FILE_UPLOAD events for the file published by one of {@code userIds}, ledger-confirmed first.
+     */
+    @Query("select e from DIDEventRecord e where e.fileId = :fileId and e.eventType = :type and e.userId in :userIds "
+            + "order by e.confirmed desc, e.timestamp asc")
+    List<DIDEventRecord> findFileEvents(UUID fileId, EventType type, Collection<UUID> userIds, Pageable pageable);
+
+    /**
+     * Users with unconfirmed events older than {@code before} that were published after the user's
+     * last reconciliation. Merkle-anchored events are left out: they are confirmed with their root.
+     */
+    @Query("select distinct e.userId from DIDEventRecord e left join DIDEventSyncState s on s.userId = e.userId "
+            + "where e.confirmed = false and e.leafHash is null and e.timestamp < :before "
+            + "and (s.lastSyncedAt is null or s.lastSyncedAt < e.timestamp)")
+    List<UUID> findUsersWithPendingEvents(Instant before, Pageable pageable);
+
+    /**
+     * Confirms the events anchored under the given ledger-confirmed roots.
+     */
+    @Modifying
+    @Query("update DIDEventRecord e set e.confirmed = true where e.anchorId in :anchorIds and e.confirmed = false")
+    int confirmAnchored(Collection<UUID> anchorIds);
+}
@@ -0,0 +1,23 @@
+package com.vaultx.user.context.repository;
+
+import com.vaultx.user.context.model.blockchain.DIDEventSyncState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DIDEventSyncStateRepository extends JpaRepository<DIDEventSyncState, UUID> {
+
+    /**
+     * Consenting users never reconciled, or last reconciled before {@code before}, oldest first.
+     */
+    @Query("select u.id from User u left join DIDEventSyncState s on s.userId = u.id "
+            + "where u.blockchainConsent = true and (s.lastSyncedAt is null or s.lastSyncedAt < :before) "
+            + "order by s.lastSyncedAt nulls first")
+    List<UUID> findUsersToSync(Instant before, Pageable pageable);
+}
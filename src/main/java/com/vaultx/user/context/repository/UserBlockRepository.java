@@ -3,9 +3,13 @@ package com.vaultx.user.context.repository;
 import com.vaultx.user.context.model.user.User;
 import com.vaultx.user.context.model.user.UserBlock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -13,4 +17,20 @@ public interface UserBlockRepository extends JpaRepository<UserBlock, UUID> {
     Optional<UserBlock> findByBlockerAndBlocked(User blocker, User blocked);
 
     boolean existsByBlockerAndBlocked(User blocker, User blocked);
+
+    @Query("select count(b) > 0 from UserBlock b where b.blocker.id = :blockerId and b.blocked.id = :blockedId")
+    boolean existsByIds(UUID blockerId, UUID blockedId);
+
+    @Query("select b.blocked.id from UserBlock b where b.blocker.id = :blockerId")
+    Set<UUID> findBlockedIds(UUID blockerId);
+
+    @Query("select b.blocker.id from UserBlock b where b.blocked.id = :blockedId")
+    Set<UUID> findBlockerIds(UUID blockedId);
+
+    @Query("select b.blocked.id from UserBlock b where b.blocker.id = :blockerId and b.blocked.id in :blockedIds")
+    Set<UUID> findBlockedIdsIn(UUID blockerId, Collection<UUID> blockedIds);
+
+    @Modifying
+    @Query("delete from UserBlock b where b.blocker.id = :blockerId and b.blocked.id = :blockedId")
+    int deleteByIds(UUID blockerId, UUID blockedId);
 }
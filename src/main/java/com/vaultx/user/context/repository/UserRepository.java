@@ -2,10 +2,15 @@ package com.vaultx.user.context.repository;
 
 import com.vaultx.user.context.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -15,4 +20,15 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findUserByEmail(String email);
 
     List<User> findTop10ByUsernameContainingIgnoreCase(String usernamePart);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.avatarVersion = :avatarVersion where u.id = :id")
+    int updateAvatarVersion(UUID id, String avatarVersion);
+
+    @Query("select u.avatarVersion from User u where u.id = :id")
+    Optional<String> findAvatarVersionById(UUID id);
 }
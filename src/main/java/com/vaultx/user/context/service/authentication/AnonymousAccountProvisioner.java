@@ -0,0 +1,215 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import com.vaultx.user.context.model.user.Role;
+import com.vaultx.user.context.model.user.RoleType;
+import com.vaultx.user.context.model.user.User;
+import com.vaultx.user.context.model.user.UserRegisteredEvent;
+import com.vaultx.user.context.repository.RoleRepository;
+import com.vaultx.user.context.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates anonymous accounts in batches.
+ * <p>
+ * Request threads hash the password on the {@link PasswordHashingExecutor} and enqueue the account;
+ * a single writer thread drains whatever accumulated since its last flush (up to the batch size) and
+ * inserts it with one {@code saveAll} in one transaction, relying on Hibernate JDBC batching. When a
+ * batch fails, its accounts are retried one by one so a single bad row cannot fail the others.
+ * Passwords are hashed with the application's {@link PasswordEncoder} at its normal cost.
+ * <p>
+ * A request that times out while its account is still queued withdraws it, so the client's retry
+ * does not leave an orphan account behind; once the writer has picked the account up, the request
+ * waits for its batch to commit instead.
+ */
+@Component
+@Slf4j
+public class AnonymousAccountProvisioner {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoder passwordEncoder;
+    private final BlockingQueue<PendingAccount> queue;
+    private final int batchSize;
+    private final Duration timeout;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+
+    private volatile Set<Role> anonymousRoles;
+
+    public AnonymousAccountProvisioner(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            PasswordHashingExecutor passwordHashingExecutor,
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${vaultx.anonymous.batch-size:100}") int batchSize,
+            @Value("${vaultx.anonymous.queue-capacity:10000}") int queueCapacity,
+            @Value("${vaultx.anonymous.timeout:PT5S}") Duration timeout) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.passwordEncoder = passwordEncoder;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+        this.batchSizes = DistributionSummary.builder("vaultx.anonymous.provisioning.batch.size")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "anonymous-account-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Creates the account and waits until its batch is committed.
+     */
+    public User provision(String username, String rawPassword) {
+        String encodedPassword =
+                passwordHashingExecutor.execute("encode-anonymous", () -> passwordEncoder.encode(rawPassword));
+
+        PendingAccount account =
+                new PendingAccount(username, encodedPassword, new AtomicBoolean(), new CompletableFuture<>());
+        if (!queue.offer(account)) {
+            throw new TooManyRequestsException("Anonymous registration is busy, please retry shortly");
+        }
+
+        try {
+            try {
+                return account.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (account.claimed().compareAndSet(false, true)) {
+                    queue.remove(account);
+                    throw new TooManyRequestsException("Anonymous registration is taking too long, please retry shortly", e);
+                }
+                // Already in a batch being written: report its outcome rather than a retryable error
+                return account.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Anonymous registration failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for registration", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    private void writeLoop() {
+        List<PendingAccount> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("Anonymous account writer failed: {}", e.getMessage(), e);
+                batch.forEach(account -> account.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingAccount> drained) {
+        // Skip accounts whose request already gave up
+        List<PendingAccount> batch = drained.stream()
+                .filter(account -> account.claimed().compareAndSet(false, true))
+                .toList();
+        if (batch.isEmpty()) return;
+        batchSizes.record(batch.size());
+        Set<Role> roles = roles();
+        try {
+            List<User> users = transactionTemplate.execute(status -> userRepository.saveAll(
+                    batch.stream().map(account -> newUser(account, roles)).toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), users.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batch of {} anonymous accounts failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingAccount account : batch) {
+                try {
+                    complete(account, transactionTemplate.execute(status -> userRepository.save(newUser(account, roles))));
+                } catch (RuntimeException single) {
+                    account.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private void complete(PendingAccount account, User user) {
+        eventPublisher.publishEvent(new UserRegisteredEvent(user.getId()));
+        account.result().complete(user);
+    }
+
+    private User newUser(PendingAccount account, Set<Role> roles) {
+        Instant now = Instant.now();
+        return User.builder()
+                .username(account.username())
+                .email(account.username().toLowerCase() + "@vaultx.net")
+                .password(account.encodedPassword())
+                .authorities(new HashSet<>(roles))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private Set<Role> roles() {
+        Set<Role> roles = anonymousRoles;
+        if (roles == null) {
+            roles = Set.of(role(RoleType.USER), role(RoleType.ANONYMOUS));
+            anonymousRoles = roles;
+        }
+        return roles;
+    }
+
+    private Role role(RoleType roleType) {
+        return roleRepository
+                .findByAuthority(roleType.getValue())
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleType.getValue()));
+    }
+
+    private record PendingAccount(
+            String username, String encodedPassword, AtomicBoolean claimed, CompletableFuture<User> result) {}
+}
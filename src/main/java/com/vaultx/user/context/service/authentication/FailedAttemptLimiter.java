@@ -0,0 +1,188 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Failure counters for login and PIN verification, kept in Redis as sliding windows.
+ * <p>
+ * Each (scope, subject) pair uses two fixed buckets of one window each; the estimate is the current
+ * bucket plus the previous one weighted by how much of it still overlaps the window.
+ * <p>
+ * An attempt is counted as a failure before it is verified: {@link #acquire} increments the current
+ * bucket and checks the estimate in one script, so concurrent attempts cannot all pass a check
+ * before any of them is counted. A successful attempt gives its slot back with {@link #release} or
+ * clears the subject with {@link #reset}; a failed one simply stays counted.
+ * <p>
+ * Redis errors fail open: throttling is skipped and authentication proceeds as normal.
+ */
+@Service
+@Slf4j
+public class FailedAttemptLimiter {
+
+    private static final String KEY_PREFIX = "throttle:";
+
+    /**
+     * KEYS[1] current bucket, KEYS[2] previous bucket; ARGV[1] limit, ARGV[2] weight of the previous
+     * bucket, ARGV[3] bucket TTL millis. Returns the estimate including this attempt, or -1 when it is
+     * over the limit (the attempt is then not counted).
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local current = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local estimate = current + math.floor(previous * tonumber(ARGV[2]))
+            if estimate > tonumber(ARGV[1]) then
+              redis.call('DECR', KEYS[1])
+              return -1
+            end
+            return estimate
+            """,
+            Long.class);
+
+    /**
+     * KEYS[1] bucket the attempt was counted in; never goes below zero or revives an expired bucket.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if count > 0 then return redis.call('DECR', KEYS[1]) end
+            return 0
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final Duration window;
+    private final int maxLoginFailuresPerUser;
+    private final int maxLoginFailuresPerIp;
+    private final int maxPinFailures;
+
+    @Autowired
+    public FailedAttemptLimiter(
+            StringRedisTemplate redisTemplate,
+            @Value("${vaultx.throttle.window:PT15M}") Duration window,
+            @Value("${vaultx.throttle.login.max-failures-per-user:5}") int maxLoginFailuresPerUser,
+            @Value("${vaultx.throttle.login.max-failures-per-ip:20}") int maxLoginFailuresPerIp,
+            @Value("${vaultx.throttle.pin.max-failures:5}") int maxPinFailures) {
+        this(redisTemplate, Clock.systemUTC(), window, maxLoginFailuresPerUser, maxLoginFailuresPerIp, maxPinFailures);
+    }
+
+    FailedAttemptLimiter(
+            StringRedisTemplate redisTemplate,
+            Clock clock,
+            Duration window,
+            int maxLoginFailuresPerUser,
+            int maxLoginFailuresPerIp,
+            int maxPinFailures) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.window = window;
+        this.maxLoginFailuresPerUser = maxLoginFailuresPerUser;
+        this.maxLoginFailuresPerIp = maxLoginFailuresPerIp;
+        this.maxPinFailures = maxPinFailures;
+    }
+
+    /**
+     * Counts the attempt as a failure up front.
+     *
+     * @return the attempt, with the subject's failure estimate including it
+     * @throws TooManyRequestsException when the subject already reached its limit
+     */
+    public Attempt acquire(Scope scope, String subject) {
+        if (subject == null) return Attempt.NONE;
+        long now = clock.millis();
+        long bucket = now / window.toMillis();
+        String key = key(scope, subject, bucket);
+        Long estimate;
+        try {
+            estimate = redisTemplate.execute(
+                    ACQUIRE_SCRIPT,
+                    List.of(key, key(scope, subject, bucket - 1)),
+                    String.valueOf(limitFor(scope)),
+                    String.valueOf(previousWeight(now, window)),
+                    // Keep the bucket while it can still be the "previous" one
+                    String.valueOf(window.multipliedBy(2).toMillis()));
+        } catch (Exception e) {
+            log.warn("Could not count attempt for {} {}: {}", scope, subject, e.getMessage());
+            return Attempt.NONE;
+        }
+        if (estimate == null) return Attempt.NONE;
+        if (estimate < 0) {
+            log.warn("Throttling {} for {}: at the limit of {} recent failures", scope, subject, limitFor(scope));
+            throw new TooManyRequestsException("Too many failed attempts, please try again later");
+        }
+        return new Attempt(key, estimate);
+    }
+
+    /**
+     * Gives back the slot of an attempt that did not fail.
+     */
+    public void release(Attempt attempt) {
+        if (attempt.key() == null) return;
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(attempt.key()));
+        } catch (Exception e) {
+            log.warn("Could not release attempt {}: {}", attempt.key(), e.getMessage());
+        }
+    }
+
+    public void reset(Scope scope, String subject) {
+        if (subject == null) return;
+        try {
+            long bucket = clock.millis() / window.toMillis();
+            redisTemplate.delete(List.of(key(scope, subject, bucket), key(scope, subject, bucket - 1)));
+        } catch (Exception e) {
+            log.warn("Could not reset failed attempts for {} {}: {}", scope, subject, e.getMessage());
+        }
+    }
+
+    /**
+     * Share of the previous bucket that still overlaps the window ending at {@code now}.
+     */
+    static double previousWeight(long now, Duration window) {
+        return 1.0 - (double) (now % window.toMillis()) / window.toMillis();
+    }
+
+    private int limitFor(Scope scope) {
+        return switch (scope) {
+            case LOGIN_USER -> maxLoginFailuresPerUser;
+            case LOGIN_IP -> maxLoginFailuresPerIp;
+            case PIN_USER -> maxPinFailures;
+        };
+    }
+
+    private static String key(Scope scope, String subject, long bucket) {
+        return KEY_PREFIX + scope.getKey() + ":" + subject + ":" + bucket;
+    }
+
+    /**
+     * A counted attempt. {@link #NONE} when nothing was counted (no subject, or Redis unavailable).
+     */
+    public record Attempt(String key, long failures) {
+        public static final Attempt NONE = new Attempt(null, 0);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Scope {
+        LOGIN_USER("login:user"),
+        LOGIN_IP("login:ip"),
+        PIN_USER("pin:user");
+
+        private final String key;
+    }
+}
@@ -2,6 +2,7 @@ package com.vaultx.user.context.service.authentication;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.exception.TooManyRequestsException;
 import com.vaultx.user.context.model.activity.ActivityType;
 import com.vaultx.user.context.model.authentication.request.LoginDTO;
 import com.vaultx.user.context.model.authentication.response.LoginResponseDTO;
@@ -24,9 +25,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.time.Instant;
 
+import static com.vaultx.user.context.service.authentication.FailedAttemptLimiter.Scope.LOGIN_IP;
+import static com.vaultx.user.context.service.authentication.FailedAttemptLimiter.Scope.LOGIN_USER;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -37,23 +40,53 @@ public class LoginService {
     private final ModelMapper mapper;
     private final ObjectMapper objectMapper;
     private final ActivityService activityService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final FailedAttemptLimiter failedAttemptLimiter;
 
     public LoginResponseDTO loginUser(HttpServletRequest request, LoginDTO dto) {
+        String clientIp = Utils.getClientIpAddress(request);
+        String deviceId = Utils.getDeviceId(request);
+        FailedAttemptLimiter.Attempt ipAttempt = failedAttemptLimiter.acquire(LOGIN_IP, clientIp);
+        FailedAttemptLimiter.Attempt userAttempt;
+        try {
+            userAttempt = failedAttemptLimiter.acquire(LOGIN_USER, dto.getUsername());
+        } catch (TooManyRequestsException e) {
+            failedAttemptLimiter.release(ipAttempt);
+            throw e;
+        }
+
         try {
             User user = userRepository
                     .findUserByUsername(dto.getUsername())
                     .orElseThrow(() -> new UsernameNotFoundException("Account not found"));
 
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword()));
+            // BCrypt check runs on the bounded hashing pool, not on the servlet thread
+            Authentication auth;
+            try {
+                auth = passwordHashingExecutor.execute(
+                        "authenticate",
+                        () -> authenticationManager.authenticate(
+                                new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword())));
+            } catch (AuthenticationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // Not a wrong guess (e.g. the hashing pool is saturated): give both slots back
+                failedAttemptLimiter.release(ipAttempt);
+                failedAttemptLimiter.release(userAttempt);
+                throw e;
+            }
+            failedAttemptLimiter.release(ipAttempt);
+            failedAttemptLimiter.reset(LOGIN_USER, dto.getUsername());
+
             String accessToken = tokenService.generateJwt(auth, user);
-            String refreshToken = tokenService.generateRefreshToken(user);
+            String refreshToken = tokenService.generateRefreshToken(user, deviceId);
 
             tokenService.storeUserSession(
                     user,
+                    deviceId,
                     accessToken,
                     refreshToken,
-                    Utils.getClientIpAddress(request),
+                    clientIp,
                     request.getHeader("User-Agent"),
                     Instant.now());
 
@@ -66,40 +99,34 @@ public class LoginService {
                     ActivityType.LOGIN,
                     "Successful login",
                     false,
-                    "IP: " + Utils.getClientIpAddress(request) + ", Device: " + request.getHeader("User-Agent"));
+                    "IP: " + clientIp + ", Device: " + request.getHeader("User-Agent"));
 
             UserResponseDTO userResponseDTO = mapper.map(user, UserResponseDTO.class);
             userResponseDTO.setHasPin(user.getPin() != null);
             return new LoginResponseDTO(userResponseDTO, accessToken, refreshToken);
 
         } catch (AuthenticationException e) {
-            if (userRepository.findUserByUsername(dto.getUsername()).isPresent()) {
-                User user = userRepository.findUserByUsername(dto.getUsername()).get();
-
-                // Check for multiple failures
-                int recentFailures = activityService.countRecentActivities(
-                        user.getId(), ActivityType.LOGIN, true, Duration.ofMinutes(30)); // Last 30 minutes
+            // Both attempts were counted as failures when acquired
+            long recentFailures = userAttempt.failures();
 
-                // Log suspicious activity if multiple failures
-                if (recentFailures >= 3) {
+            userRepository.findUserByUsername(dto.getUsername()).ifPresent(user -> {
+                // Log suspicious activity if multiple failures within the throttle window
+                if (recentFailures > 3) {
                     activityService.logActivity(
                             user,
                             ActivityType.SECURITY,
                             "Suspicious login activity",
                             true,
-                            "Multiple failed login attempts (" + (recentFailures + 1) + ") from IP: "
-                                    + Utils.getClientIpAddress(request));
+                            "Multiple failed login attempts (" + recentFailures + ") from IP: " + clientIp);
                 } else {
-                    // Regular failed login activity (already implemented)
                     activityService.logActivity(
                             user,
                             ActivityType.LOGIN,
                             "Failed login attempt",
                             true,
-                            "IP: " + Utils.getClientIpAddress(request) + ", Device: "
-                                    + request.getHeader("User-Agent"));
+                            "IP: " + clientIp + ", Device: " + request.getHeader("User-Agent"));
                 }
-            }
+            });
             throw new BadCredentialsException(e.getMessage());
         }
     }
@@ -109,31 +136,26 @@ public class LoginService {
             JsonNode jsonNode = objectMapper.readTree(refreshTokenJson);
             String refreshToken = jsonNode.get("refresh_token").asText();
 
-            User user = tokenService.validateRefreshToken(refreshToken);
-            user.setLastSeen(Instant.now());
-            userRepository.save(user);
+            // Rotation and sessions live in Redis; a routine refresh writes nothing to Postgres. Only
+            // security events (token reuse, a device changing IP) are recorded as activities
+            TokenService.RefreshTokenRotation rotation = tokenService.rotateRefreshToken(refreshToken);
+            User user = rotation.user();
 
             Authentication auth =
                     new UsernamePasswordAuthenticationToken(user.getUsername(), null, user.getAuthorities());
 
             String newAccessToken = tokenService.generateJwt(auth, user);
-            String newRefreshToken = tokenService.generateRefreshToken(user);
+            String newRefreshToken = rotation.refreshToken();
 
             tokenService.storeUserSession(
                     user,
+                    rotation.deviceId(),
                     newAccessToken,
                     newRefreshToken,
                     Utils.getClientIpAddress(request),
                     request.getHeader("User-Agent"),
                     Instant.now());
 
-            activityService.logActivity(
-                    user,
-                    ActivityType.LOGIN,
-                    "Access token refreshed",
-                    false,
-                    "IP: " + Utils.getClientIpAddress(request) + ", Device: " + request.getHeader("User-Agent"));
-
             UserResponseDTO userResponseDTO = mapper.map(user, UserResponseDTO.class);
             userResponseDTO.setHasPin(user.getPin() != null);
             return new LoginResponseDTO(userResponseDTO, newAccessToken, newRefreshToken);
@@ -144,9 +166,9 @@ public class LoginService {
 
     public void logout(HttpServletRequest request, UserService userService) {
         User user = userService.getSessionUser(request);
-        user.setRefreshToken(null);
-        userRepository.save(user);
-        tokenService.removeUserSession(user.getId().toString());
+        String deviceId = Utils.getDeviceId(request);
+        tokenService.revokeRefreshTokens(user.getId(), deviceId);
+        tokenService.removeUserSession(user.getId(), deviceId);
 
         activityService.logActivity(
                 user,
@@ -0,0 +1,112 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work (password encoding and credential checks) on a dedicated, bounded pool
+ * so a burst of logins cannot occupy every servlet thread.
+ * <p>
+ * When the queue is full the caller is rejected immediately with {@link TooManyRequestsException}
+ * (HTTP 429); when a queued task does not finish within the configured timeout the same exception
+ * is raised and the task is cancelled.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_PREFIX = "vaultx.password.hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public PasswordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${vaultx.password-hashing.pool-size:0}") int poolSize,
+            @Value("${vaultx.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${vaultx.password-hashing.timeout:PT5S}") Duration timeout) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_PREFIX);
+        log.info("Password hashing pool started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    /**
+     * Executes {@code task} on the hashing pool and waits for its result.
+     *
+     * @param operation short name used as the {@code operation} metric tag (e.g. "encode", "authenticate")
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                timer("queue.wait", operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    timer("time", operation).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter(METRIC_PREFIX + ".rejected", "operation", operation).increment();
+            throw new TooManyRequestsException("Too many authentication requests, please retry shortly", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter(METRIC_PREFIX + ".timeout", "operation", operation).increment();
+            throw new TooManyRequestsException("Authentication is taking too long, please retry shortly", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder(METRIC_PREFIX + "." + name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.stereotype.Service;
 
 import java.util.Objects;
 
+import static com.vaultx.user.context.service.authentication.FailedAttemptLimiter.Scope.PIN_USER;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -21,6 +23,7 @@ public class PinService {
     private final UserService userService;
     private final UserRepository userRepository;
     private final ActivityService activityService;
+    private final FailedAttemptLimiter failedAttemptLimiter;
 
     public void savePin(HttpServletRequest request, String pin) {
         if (pin.length() != 6) {
@@ -43,13 +46,23 @@ public class PinService {
         }
 
         User user = userService.getSessionUser(request);
+        String userId = user.getId().toString();
+        FailedAttemptLimiter.Attempt attempt = failedAttemptLimiter.acquire(PIN_USER, userId);
+
         String hashedPin = CipherUtils.getHash(pin);
 
         if (Objects.equals(hashedPin, user.getPin())) {
+            failedAttemptLimiter.reset(PIN_USER, userId);
             return Boolean.TRUE;
         } else {
+            long recentFailures = attempt.failures();
             // Log failed PIN verification
-            activityService.logActivity(user, ActivityType.PIN, "Failed PIN verification attempt", true, null);
+            activityService.logActivity(
+                    user,
+                    ActivityType.PIN,
+                    "Failed PIN verification attempt",
+                    true,
+                    "Recent failed attempts: " + recentFailures);
             throw new CustomBadCredentialsException("Invalid PIN");
         }
     }
@@ -0,0 +1,148 @@
+package com.vaultx.user.context.service.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis-backed store of refresh-token families.
+ * <p>
+ * A family is created on login for one (user, device) pair and remembers only the id ({@code jti}) of the
+ * refresh token currently allowed for it. Every refresh atomically swaps in a new id; presenting an id
+ * that is no longer current means the token was replayed, and the whole family is revoked.
+ * <pre>
+ * refresh:family:{familyId}  hash  userId, deviceId, jti, createdAt   (TTL = refresh TTL, sliding)
+ * refresh:user:{userId}      hash  deviceId -> familyId           (TTL = refresh TTL, sliding)
+ * </pre>
+ * Both keys are extended on every rotation, so the index outlives every family it points to and logout
+ * always finds the device's live family.
+ */
+@Service
+@Slf4j
+public class RefreshTokenStore {
+
+    private static final String FAMILY_PREFIX = "refresh:family:";
+    private static final String USER_PREFIX = "refresh:user:";
+
+    /**
+     * KEYS[1] family key, KEYS[2] user index key; ARGV[1] presented jti, ARGV[2] next jti, ARGV[3] ttl
+     * millis, ARGV[4] user id. Returns 1 when rotated, 0 when the presented jti is stale (family deleted),
+     * -1 when the family is gone or belongs to another user.
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local family = redis.call('HMGET', KEYS[1], 'jti', 'userId')
+            local current = family[1]
+            if not current or family[2] ~= ARGV[4] then return -1 end
+            if current ~= ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return 0
+            end
+            redis.call('HSET', KEYS[1], 'jti', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            return 1
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    @Autowired
+    public RefreshTokenStore(
+            StringRedisTemplate redisTemplate, @Value("${jwt.refreshTtlInMinutes}") int refreshTtlInMinutes) {
+        this(redisTemplate, Duration.ofMinutes(refreshTtlInMinutes));
+    }
+
+    RefreshTokenStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Starts a new family for the device, replacing any family the device already had.
+     */
+    public IssuedToken issue(UUID userId, String deviceId) {
+        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
+        String userKey = USER_PREFIX + userId;
+
+        String previousFamily = hashOps.get(userKey, deviceId);
+        if (previousFamily != null) {
+            redisTemplate.delete(FAMILY_PREFIX + previousFamily);
+        }
+
+        String familyId = UUID.randomUUID().toString();
+        String jti = UUID.randomUUID().toString();
+        String familyKey = FAMILY_PREFIX + familyId;
+
+        hashOps.putAll(
+                familyKey,
+                Map.of(
+                        "userId", userId.toString(),
+                        "deviceId", deviceId,
+                        "jti", jti,
+                        "createdAt", Instant.now().toString()));
+        redisTemplate.expire(familyKey, ttl);
+
+        hashOps.put(userKey, deviceId, familyId);
+        redisTemplate.expire(userKey, ttl);
+
+        return new IssuedToken(familyId, jti);
+    }
+
+    /**
+     * Atomically replaces the family's current token id with a new one.
+     *
+     * @return the new token id, or the reason the presented one was refused
+     */
+    public Rotation rotate(UUID userId, String familyId, String presentedJti) {
+        String nextJti = UUID.randomUUID().toString();
+        Long result = redisTemplate.execute(
+                ROTATE_SCRIPT,
+                List.of(FAMILY_PREFIX + familyId, USER_PREFIX + userId),
+                presentedJti,
+                nextJti,
+                String.valueOf(ttl.toMillis()),
+                userId.toString());
+
+        if (result == null || result < 0) {
+            return new Rotation(Outcome.UNKNOWN_FAMILY, null);
+        }
+        if (result == 0) {
+            log.warn("Refresh token reuse detected, family {} revoked", familyId);
+            return new Rotation(Outcome.REUSED, null);
+        }
+        return new Rotation(Outcome.ROTATED, new IssuedToken(familyId, nextJti));
+    }
+
+    public void revokeDevice(UUID userId, String deviceId) {
+        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
+        String userKey = USER_PREFIX + userId;
+        String familyId = hashOps.get(userKey, deviceId);
+        if (familyId != null) {
+            redisTemplate.delete(FAMILY_PREFIX + familyId);
+            hashOps.delete(userKey, deviceId);
+        }
+    }
+
+    public record IssuedToken(String familyId, String jti) {}
+
+    public record Rotation(Outcome outcome, IssuedToken token) {}
+
+    public enum Outcome {
+        ROTATED,
+        REUSED,
+        UNKNOWN_FAMILY
+    }
+}
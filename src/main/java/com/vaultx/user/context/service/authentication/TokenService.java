@@ -1,18 +1,16 @@
 package com.vaultx.user.context.service.authentication;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vaultx.user.context.model.activity.ActivityType;
 import com.vaultx.user.context.model.authentication.response.LoginResponseDTO;
 import com.vaultx.user.context.model.user.User;
 import com.vaultx.user.context.model.user.UserSession;
 import com.vaultx.user.context.repository.UserRepository;
 import com.vaultx.user.context.service.user.ActivityService;
-import com.vaultx.user.context.utils.RSAKeyProperties;
+import com.vaultx.user.context.utils.JwtKeyProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,11 +19,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Base64;
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,12 +30,12 @@ public class TokenService {
 
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
-    private final RSAKeyProperties rsaKeyProperties;
+    private final JwtKeyProperties jwtKeyProperties;
     private final UserRepository userRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final ModelMapper modelMapper;
-    private final ObjectMapper objectMapper;
     private final ActivityService activityService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserSessionStore userSessionStore;
 
     @Value("${jwt.ttlInMinutes}")
     private int ttlInMinutes;
@@ -60,11 +55,6 @@ public class TokenService {
                     .collect(Collectors.joining(" "));
         }
 
-        var publicKey = rsaKeyProperties.getPublicKey();
-
-        // Convert RSA public key to string representation
-        String publicKeyString = Base64.getEncoder().encodeToString(publicKey.getEncoded());
-
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
@@ -73,13 +63,20 @@ public class TokenService {
                 .claim("username", user.getUsername())
                 .claim("email", user.getEmail())
                 .claim("role", scope)
-                .claim("publicKey", publicKeyString)
                 .build();
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return encode(claims);
+    }
+
+    /**
+     * Starts a new refresh-token family for the device and returns its first token.
+     */
+    public String generateRefreshToken(User user, String deviceId) {
+        RefreshTokenStore.IssuedToken issued = refreshTokenStore.issue(user.getId(), deviceId);
+        return encodeRefreshToken(user, deviceId, issued);
     }
 
-    public String generateRefreshToken(User user) {
+    private String encodeRefreshToken(User user, String deviceId, RefreshTokenStore.IssuedToken issued) {
         Instant now = Instant.now();
         var expirationDateTime =
                 Date.from(ZonedDateTime.now().plusMinutes(refreshTtlInMinutes).toInstant());
@@ -89,63 +86,84 @@ public class TokenService {
                 .issuedAt(now)
                 .expiresAt(expirationDateTime.toInstant())
                 .subject(user.getId().toString())
+                .id(issued.jti())
                 .claim("username", user.getUsername())
+                .claim("fid", issued.familyId())
+                .claim("did", deviceId)
                 .build();
 
-        String refreshToken =
-                jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
-        return refreshToken;
+        return encode(claims);
     }
 
-    public User validateRefreshToken(String token) {
+    /**
+     * Signs the claims with the configured algorithm; verifiers resolve the key through the JWKS endpoint by kid.
+     */
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(jwtKeyProperties.getAlgorithm())
+                .keyId(jwtKeyProperties.getKeyId())
+                .build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    /**
+     * Validates a refresh token against its family and atomically replaces it with a new one.
+     * A token that was already rotated away is treated as stolen: its family is revoked.
+     */
+    public RefreshTokenRotation rotateRefreshToken(String token) {
+        Jwt jwt;
         try {
-            log.info("Validating refresh token: {}", token);
-            Jwt jwt = jwtDecoder.decode(token);
-            String userId = jwt.getSubject();
-            UserSession userSession = getUserSession(userId);
+            jwt = jwtDecoder.decode(token);
+        } catch (JwtException e) {
+            log.warn("Invalid refresh token: {}", e.getMessage());
+            throw new RuntimeException("Invalid refresh token", e);
+        }
 
-            if (userSession == null || !token.equals(userSession.getUser().getRefreshToken())) {
-                throw new RuntimeException("Invalid refresh token: Token does not match the stored token");
-            }
+        String familyId = jwt.getClaimAsString("fid");
+        String deviceId = jwt.getClaimAsString("did");
+        if (familyId == null || jwt.getId() == null) {
+            throw new RuntimeException("Invalid refresh token: missing token family");
+        }
 
-            return userRepository
-                    .findById(userSession.getUser().getUser().getId())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        } catch (JwtException e) {
-            log.error("Invalid refresh token: {}", e.getMessage());
-            // Log suspicious activity - extract user info if possible
-            String userId = null;
-            try {
-                // Try to extract subject (user ID) from the expired/invalid token
-                Jwt jwt = jwtDecoder.decode(token);
-                userId = jwt.getSubject();
-                User user = userRepository.findById(UUID.fromString(userId)).orElse(null);
-                if (user != null) {
-                    activityService.logActivity(
-                            user,
-                            ActivityType.SECURITY,
-                            "Suspicious token activity",
-                            true,
-                            "Invalid refresh token used: " + e.getMessage());
-                }
-            } catch (Exception ignored) {
-                // Can't extract user info, just continue
+        UUID userId = UUID.fromString(jwt.getSubject());
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(userId, familyId, jwt.getId());
+        switch (rotation.outcome()) {
+            case REUSED -> {
+                userRepository.findById(userId).ifPresent(user -> activityService.logActivity(
+                        user,
+                        ActivityType.SECURITY,
+                        "Suspicious token activity",
+                        true,
+                        "Refresh token reuse detected, device " + deviceId + " signed out"));
+                throw new RuntimeException("Invalid refresh token: token reuse detected");
+            }
+            case UNKNOWN_FAMILY -> throw new RuntimeException("Invalid refresh token: session has ended");
+            default -> {
+                // ROTATED
             }
-
-            throw new RuntimeException("Invalid refresh token", e);
         }
+
+        User user = userRepository.findById(userId).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new RefreshTokenRotation(user, deviceId, encodeRefreshToken(user, deviceId, rotation.token()));
+    }
+
+    public void revokeRefreshTokens(UUID userId, String deviceId) {
+        refreshTokenStore.revokeDevice(userId, deviceId);
     }
 
     public void storeUserSession(
-            User user, String accessToken, String refreshToken, String clientIp, String userAgent, Instant updatedAt) {
+            User user,
+            String deviceId,
+            String accessToken,
+            String refreshToken,
+            String clientIp,
+            String userAgent,
+            Instant updatedAt) {
         var userdto = modelMapper.map(user, LoginResponseDTO.class);
         userdto.setAccessToken(accessToken);
         userdto.setRefreshToken(refreshToken);
 
-        // Retrieve existing UserSession from Redis
-        UserSession existingSession = getUserSession(user.getId().toString());
+        // Sessions are per device, so an IP change is only suspicious for the same device
+        UserSession existingSession = userSessionStore.find(user.getId(), deviceId);
         if (existingSession != null && !clientIp.equals(existingSession.getClientIp())) {
             activityService.logActivity(
                     user,
@@ -166,33 +184,7 @@ public class TokenService {
                 .updatedAt(updatedAt)
                 .build();
 
-        redisTemplate.opsForValue().set(user.getId().toString(), userSession, ttlInMinutes, TimeUnit.DAYS);
-    }
-
-    public UserSession getUserSession(String userId) {
-        Object sessionObject = redisTemplate.opsForValue().get(userId);
-        switch (sessionObject) {
-            case null -> {
-                log.warn("No session found for user ID: {} --> Skipping...", userId);
-                return null;
-            }
-            // Explicitly cast or deserialize the object into UserSession
-            case LinkedHashMap linkedHashMap -> {
-                // Manually map LinkedHashMap to UserSession if needed
-                return objectMapper.convertValue(sessionObject, UserSession.class);
-                // Manually map LinkedHashMap to UserSession if needed
-            }
-            case UserSession userSession -> {
-                return userSession;
-            }
-            default -> {
-                log.error(
-                        "Invalid session type for user ID: {}. Expected UserSession but found: {}",
-                        userId,
-                        sessionObject.getClass());
-                return null;
-            }
-        }
+        userSessionStore.save(user.getId(), deviceId, userSession);
     }
 
     public boolean verifyToken(String token) {
@@ -204,7 +196,9 @@ public class TokenService {
         }
     }
 
-    public void removeUserSession(String userId) {
-        redisTemplate.delete(userId);
+    public void removeUserSession(UUID userId, String deviceId) {
+        userSessionStore.remove(userId, deviceId);
     }
+
+    public record RefreshTokenRotation(User user, String deviceId, String refreshToken) {}
 }
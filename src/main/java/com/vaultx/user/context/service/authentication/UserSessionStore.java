@@ -0,0 +1,74 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.model.user.UserSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Per-device user sessions, stored as one Redis hash per user:
+ * <pre>
+ * session:{userId}   hash   deviceId -> UserSession (Smile)
+ * </pre>
+ * Redis cannot expire individual hash fields here, so every entry carries its own {@code expiresAt};
+ * expired entries are skipped and removed on read. The key itself expires with its newest entry.
+ */
+@Service
+@Slf4j
+public class UserSessionStore {
+
+    private static final String KEY_PREFIX = "session:";
+
+    private final RedisTemplate<String, UserSession> sessionRedisTemplate;
+    private final Duration ttl;
+
+    public UserSessionStore(
+            RedisTemplate<String, UserSession> sessionRedisTemplate,
+            @Value("${jwt.refreshTtlInMinutes}") int refreshTtlInMinutes) {
+        this.sessionRedisTemplate = sessionRedisTemplate;
+        this.ttl = Duration.ofMinutes(refreshTtlInMinutes);
+    }
+
+    public void save(UUID userId, String deviceId, UserSession session) {
+        session.setDeviceId(deviceId);
+        session.setExpiresAt(Instant.now().plus(ttl));
+
+        String key = key(userId);
+        hashOps().put(key, deviceId, session);
+        sessionRedisTemplate.expire(key, ttl);
+    }
+
+    public UserSession find(UUID userId, String deviceId) {
+        UserSession session = hashOps().get(key(userId), deviceId);
+        if (session == null) {
+            return null;
+        }
+        if (isExpired(session)) {
+            hashOps().delete(key(userId), deviceId);
+            return null;
+        }
+        return session;
+    }
+
+    public void remove(UUID userId, String deviceId) {
+        hashOps().delete(key(userId), deviceId);
+    }
+
+    private HashOperations<String, String, UserSession> hashOps() {
+        return sessionRedisTemplate.opsForHash();
+    }
+
+    private static boolean isExpired(UserSession session) {
+        return session.getExpiresAt() != null && session.getExpiresAt().isBefore(Instant.now());
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+}
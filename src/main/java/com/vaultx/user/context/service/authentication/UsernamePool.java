@@ -0,0 +1,121 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.github.javafaker.Faker;
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import com.vaultx.user.context.repository.UserRepository;
+import com.vaultx.user.context.utils.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-generated pool of unique usernames for anonymous accounts.
+ * <p>
+ * A background thread generates candidates in batches, drops those the Bloom filter has already seen
+ * (handed out earlier or found taken), checks the rest against {@code users} with one query per batch
+ * and queues the free ones. Registration only takes a name from the queue.
+ */
+@Component
+@Slf4j
+public class UsernamePool {
+
+    private final UserRepository userRepository;
+    private final BlockingQueue<String> pool;
+    private final BloomFilter seen;
+    private final int batchSize;
+    private final Duration takeTimeout;
+    private final Thread filler;
+
+    // Only touched by the filler thread
+    private final Faker faker = new Faker();
+
+    public UsernamePool(
+            UserRepository userRepository,
+            @Value("${vaultx.anonymous.username-pool.size:5000}") int poolSize,
+            @Value("${vaultx.anonymous.username-pool.batch-size:500}") int batchSize,
+            @Value("${vaultx.anonymous.username-pool.expected-usernames:1000000}") int expectedUsernames,
+            @Value("${vaultx.anonymous.username-pool.take-timeout:PT2S}") Duration takeTimeout) {
+        this.userRepository = userRepository;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        this.seen = new BloomFilter(expectedUsernames, 0.001);
+        this.batchSize = batchSize;
+        this.takeTimeout = takeTimeout;
+        this.filler = new Thread(this::fillLoop, "username-pool-filler");
+        this.filler.setDaemon(true);
+        this.filler.start();
+    }
+
+    /**
+     * Takes a username that is not used by any existing account and was never handed out before.
+     */
+    public String take() {
+        try {
+            String username = pool.poll(takeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (username == null) {
+                throw new TooManyRequestsException("Anonymous registration is busy, please retry shortly");
+            }
+            return username;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a username", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        filler.interrupt();
+    }
+
+    private void fillLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                refill();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("Username pool refill failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refill() throws InterruptedException {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (int i = 0; i < batchSize; i++) {
+            String candidate = generateUsername();
+            if (!seen.mightContain(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+        if (candidates.isEmpty()) return;
+
+        Set<String> taken = userRepository.findExistingUsernames(candidates);
+        for (String candidate : candidates) {
+            seen.put(candidate);
+            if (!taken.contains(candidate)) {
+                // Blocks while the pool is full
+                pool.put(candidate);
+            }
+        }
+    }
+
+    private String generateUsername() {
+        return capitalize(faker.color().name()) + capitalize(faker.animal().name()) + faker.number().digits(4);
+    }
+
+    private static String capitalize(String word) {
+        return word.substring(0, 1).toUpperCase() + word.substring(1).replace(" ", "");
+    }
+}
@@ -0,0 +1,42 @@
+package com.vaultx.user.context.service.file;
+
+import io.minio.*;
+import io.minio.errors.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Uploads data archives (e.g. expired activity partitions) to a dedicated MinIO bucket.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchiveStorageService {
+
+    private final MinioClient minioClient;
+
+    @Value("${vaultx.archive.bucket-name:vaultx-archive}")
+    private String bucketName;
+
+    public void upload(String objectName, Path file, String contentType) throws IOException {
+        try {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            }
+            minioClient.uploadObject(UploadObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .filename(file.toString())
+                    .contentType(contentType)
+                    .build());
+        } catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidKeyException
+                 | InvalidResponseException | NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            throw new IOException("Failed to store archive in MinIO: " + e.getMessage(), e);
+        }
+    }
+}
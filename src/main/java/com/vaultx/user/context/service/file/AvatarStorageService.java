@@ -0,0 +1,91 @@
+package com.vaultx.user.context.service.file;
+
+import io.minio.*;
+import io.minio.errors.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Stores user avatars as PNG objects in MinIO, one object per user ({@code {userId}.png}).
+ * The users row keeps only the returned version, a short content hash used as the HTTP ETag.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvatarStorageService {
+
+    private static final String CONTENT_TYPE = "image/png";
+
+    private final MinioClient minioClient;
+
+    @Value("${vaultx.avatars.bucket-name:vaultx-avatars}")
+    private String bucketName;
+
+    private volatile boolean bucketReady;
+
+    /**
+     * Uploads the avatar and returns its version.
+     */
+    public String store(UUID userId, byte[] png) throws IOException {
+        try {
+            ensureBucket();
+            try (ByteArrayInputStream inputStream = new ByteArrayInputStream(png)) {
+                minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName(userId))
+                        .stream(inputStream, png.length, -1)
+                        .contentType(CONTENT_TYPE)
+                        .build());
+            }
+            return version(png);
+        } catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidKeyException
+                 | InvalidResponseException | NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            throw new IOException("Failed to store avatar in MinIO: " + e.getMessage(), e);
+        }
+    }
+
+    public byte[] load(UUID userId) throws IOException {
+        try (GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName(userId))
+                .build())) {
+            return response.readAllBytes();
+        } catch (ErrorResponseException e) {
+            if (e.errorResponse().code().equals("NoSuchKey")) {
+                throw new FileNotFoundException("Avatar not found: " + userId);
+            }
+            throw new IOException("Failed to load avatar from MinIO: " + e.getMessage(), e);
+        } catch (InsufficientDataException | InternalException | InvalidKeyException | InvalidResponseException
+                 | NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            throw new IOException("Failed to load avatar from MinIO: " + e.getMessage(), e);
+        }
+    }
+
+    private void ensureBucket() throws ErrorResponseException, InsufficientDataException, InternalException,
+            InvalidKeyException, InvalidResponseException, IOException, NoSuchAlgorithmException, ServerException,
+            XmlParserException {
+        if (bucketReady) return;
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+        }
+        bucketReady = true;
+    }
+
+    private static String objectName(UUID userId) {
+        return userId + ".png";
+    }
+
+    private static String version(byte[] png) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(png);
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+}
@@ -0,0 +1,142 @@
+package com.vaultx.user.context.service.kafka;
+
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro binary encoding of {@link DIDEvent} Kafka messages, framed like Confluent's wire format: a
+ * zero magic byte, the 4-byte big-endian schema id from the {@link DIDEventSchemaRegistry}, then the
+ * record. Messages are written with the latest schema and read with it too, resolving from whichever
+ * version wrote them. The payload travels as a plain string field instead of an escaped JSON string.
+ */
+public class DIDEventAvroCodec {
+
+    static final byte MAGIC_BYTE = 0;
+    private static final int HEADER_SIZE = 5;
+
+    private final DIDEventSchemaRegistry registry;
+    private final int writerId;
+    private final Schema writerSchema;
+    private final GenericDatumWriter<GenericRecord> writer;
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public DIDEventAvroCodec(DIDEventSchemaRegistry registry) {
+        this.registry = registry;
+        this.writerId = registry.latestId();
+        this.writerSchema = registry.latest();
+        this.writer = new GenericDatumWriter<>(writerSchema);
+    }
+
+    public byte[] encode(DIDEvent event) {
+        if (event.getEventId() == null || event.getUserId() == null || event.getEventType() == null
+                || event.getTimestamp() == null) {
+            throw new SerializationException("DID event is missing its id, user, type or timestamp");
+        }
+        GenericRecord record = new GenericData.Record(writerSchema);
+        put(record, "eventId", event.getEventId().toString());
+        put(record, "userId", event.getUserId().toString());
+        put(record, "publicKey", event.getPublicKey());
+        put(record, "eventType", event.getEventType().name());
+        put(record, "timestamp", ChronoUnit.MICROS.between(Instant.EPOCH, event.getTimestamp()));
+        put(record, "payload", event.getPayload());
+        put(record, "kafkaOffset", event.getKafkaOffset());
+        put(record, "payloadHash", event.getPayloadHash());
+        put(record, "docType", event.getDocType());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(writerId).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new SerializationException("Error encoding DID event " + event.getEventId(), e);
+        }
+        return out.toByteArray();
+    }
+
+    public DIDEvent decode(byte[] data) {
+        if (data.length < HEADER_SIZE || data[0] != MAGIC_BYTE) {
+            throw new SerializationException("Not an Avro-framed DID event");
+        }
+        int schemaId = ByteBuffer.wrap(data, 1, 4).getInt();
+        GenericDatumReader<GenericRecord> reader;
+        try {
+            reader = readers.computeIfAbsent(
+                    schemaId, id -> new GenericDatumReader<>(registry.byId(id), writerSchema));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+
+        GenericRecord record;
+        try {
+            BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, HEADER_SIZE, data.length - HEADER_SIZE, null);
+            record = reader.read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Error decoding DID event with schema " + schemaId, e);
+        }
+        return DIDEvent.builder()
+                .eventId(UUID.fromString(record.get("eventId").toString()))
+                .userId(UUID.fromString(record.get("userId").toString()))
+                .publicKey(string(record.get("publicKey")))
+                .eventType(EventType.valueOf(record.get("eventType").toString()))
+                .timestamp(Instant.EPOCH.plus((Long) record.get("timestamp"), ChronoUnit.MICROS))
+                .payload(string(record.get("payload")))
+                .kafkaOffset((Long) record.get("kafkaOffset"))
+                .payloadHash(string(record.get("payloadHash")))
+                .docType(string(record.get("docType")))
+                .build();
+    }
+
+    /**
+     * Kafka value serializer for the producer; every value must be a {@link DIDEvent}.
+     */
+    public Serializer<Object> serializer() {
+        return (topic, data) -> {
+            if (data == null) return null;
+            if (!(data instanceof DIDEvent event)) {
+                throw new SerializationException("Avro format only supports DID events, got " + data.getClass().getName());
+            }
+            return encode(event);
+        };
+    }
+
+    public Deserializer<DIDEvent> deserializer() {
+        return (topic, data) -> data == null ? null : decode(data);
+    }
+
+    /**
+     * Sets the field if the writer schema has it, so the codec also writes older schema versions.
+     */
+    private static void put(GenericRecord record, String field, Object value) {
+        if (record.getSchema().getField(field) != null) {
+            record.put(field, value);
+        }
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
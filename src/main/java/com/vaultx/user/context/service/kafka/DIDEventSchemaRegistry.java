@@ -0,0 +1,68 @@
+package com.vaultx.user.context.service.kafka;
+
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stand-in for a schema registry: the {@code DIDEvent} Avro schemas bundled under
+ * {@code avro/did-event/v1.avsc}, {@code v2.avsc}, ... The version number is the schema id carried
+ * in each message, and the highest version is the one messages are written with.
+ */
+public class DIDEventSchemaRegistry {
+
+    private static final String LOCATION = "avro/did-event/v%d.avsc";
+
+    private final List<Schema> versions;
+
+    DIDEventSchemaRegistry(List<Schema> versions) {
+        if (versions.isEmpty()) {
+            throw new IllegalStateException("No DIDEvent schema found");
+        }
+        this.versions = List.copyOf(versions);
+    }
+
+    public static DIDEventSchemaRegistry fromClasspath() {
+        ClassLoader classLoader = DIDEventSchemaRegistry.class.getClassLoader();
+        List<Schema> versions = new ArrayList<>();
+        for (int version = 1; ; version++) {
+            try (InputStream in = classLoader.getResourceAsStream(LOCATION.formatted(version))) {
+                if (in == null) break;
+                versions.add(new Schema.Parser().parse(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read DIDEvent schema v" + version, e);
+            }
+        }
+        return new DIDEventSchemaRegistry(versions);
+    }
+
+    public int latestId() {
+        return versions.size();
+    }
+
+    public Schema latest() {
+        return versions.get(versions.size() - 1);
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown id
+     */
+    public Schema byId(int id) {
+        if (id < 1 || id > versions.size()) {
+            throw new IllegalArgumentException("Unknown DIDEvent schema id " + id);
+        }
+        return versions.get(id - 1);
+    }
+
+    /**
+     * All versions, oldest first.
+     */
+    public List<Schema> versions() {
+        return Collections.unmodifiableList(versions);
+    }
+}
@@ -1,15 +1,21 @@
 package com.vaultx.user.context.service.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.apache.kafka.common.serialization.Serializer;
 
+/**
+ * Kafka value serializer backed by the application {@link ObjectMapper}.
+ * <p>
+ * Dates are written as numeric epoch timestamps ({@code 1792357200.123456000}), unlike the ISO strings
+ * the application mapper writes elsewhere: that is the message format the ledger consumer reads.
+ */
 public class JsonSerializer<T> implements Serializer<T> {
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
 
-    public JsonSerializer() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    public JsonSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
 
     @Override
@@ -18,7 +24,7 @@ public class JsonSerializer<T> implements Serializer<T> {
             return null;
         }
         try {
-            return objectMapper.writeValueAsBytes(data);
+            return writer.writeValueAsBytes(data);
         } catch (Exception e) {
             throw new RuntimeException("Error serializing to JSON", e);
         }
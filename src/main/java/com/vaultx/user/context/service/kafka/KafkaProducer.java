@@ -2,29 +2,71 @@ package com.vaultx.user.context.service.kafka;
 
 import com.vaultx.user.context.model.blockchain.DIDEvent;
 import com.vaultx.user.context.model.blockchain.EventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes DID events, keyed by user id so each user's events land on one partition in order.
+ * <p>
+ * Metrics per topic: {@code vaultx.kafka.producer.send} (ack latency histogram, tagged
+ * {@code result=success|failure}), {@code .records} (acknowledged records, for throughput) and
+ * {@code .bytes} (serialized value size).
+ */
 @Slf4j
 @Component
 public class KafkaProducer {
 
+    private static final String METRIC_PREFIX = "vaultx.kafka.producer";
     private static final String BLOCKCHAIN_TOPIC = "blockchain.transactions";
     private static final String USER_REGISTRATION_TOPIC = "users.registration";
     private static final String USER_KEY_ROTATION_TOPIC = "users.key-rotation";
     private static final String USER_ROLE_TOPIC = "users.role-change";
     private static final String CHAT_TOPIC = "chats.events";
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public KafkaProducer(KafkaTemplate<String, Object> kafkaTemplate) {
+    public KafkaProducer(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
-    public void sendDIDEvent(DIDEvent event) {
+    /**
+     * @return completes when the broker acknowledges the event
+     */
+    public CompletableFuture<SendResult<String, Object>> sendDIDEvent(DIDEvent event) {
         String topic = getTopicForEvent(event.getEventType());
-        kafkaTemplate.send(topic, event);
-        log.info("Message {} has been successfully sent to topic: {}", event, topic);
+        String key = event.getUserId() != null ? event.getUserId().toString() : null;
+        log.debug("Sending DID event {} to topic {}", event.getEventId(), topic);
+
+        long start = System.nanoTime();
+        return kafkaTemplate.send(topic, key, event).whenComplete((result, e) -> {
+            long elapsed = System.nanoTime() - start;
+            if (e == null) {
+                sendTimer(topic, "success").record(elapsed, TimeUnit.NANOSECONDS);
+                meterRegistry.counter(METRIC_PREFIX + ".records", "topic", topic).increment();
+                int size = result.getRecordMetadata().serializedValueSize();
+                if (size >= 0) {
+                    meterRegistry.summary(METRIC_PREFIX + ".bytes", "topic", topic).record(size);
+                }
+            } else {
+                sendTimer(topic, "failure").record(elapsed, TimeUnit.NANOSECONDS);
+                log.warn("DID event {} was not delivered to {}: {}", event.getEventId(), topic, e.getMessage());
+            }
+        });
+    }
+
+    private Timer sendTimer(String topic, String result) {
+        return Timer.builder(METRIC_PREFIX + ".send")
+                .tags("topic", topic, "result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     private String getTopicForEvent(EventType eventType) {
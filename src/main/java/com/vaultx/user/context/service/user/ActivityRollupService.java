@@ -0,0 +1,182 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.model.activity.ActivityRollupBackfill;
+import com.vaultx.user.context.model.activity.ActivityStatsBucketDTO;
+import com.vaultx.user.context.model.activity.ActivityStatsDTO;
+import com.vaultx.user.context.model.activity.ActivityType;
+import com.vaultx.user.context.model.activity.RollupGranularity;
+import com.vaultx.user.context.repository.ActivityRollupBackfillRepository;
+import com.vaultx.user.context.repository.ActivityRollupRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maintains and reads {@code user_activity_rollups}: activity counts per user, type, unusual flag and
+ * bucket, at {@link RollupGranularity#FIVE_MINUTES} and {@link RollupGranularity#DAY} granularity.
+ * Counts are bucket-aligned: a period starting mid-bucket includes that whole bucket.
+ * <p>
+ * Activities written before rollups existed are backfilled once. The first instance to start
+ * records a cut-off in {@link ActivityRollupBackfill} before its {@link ActivityWriter} can write
+ * rollups, so everything the writers count is newer than it; the backfill adds the older activities
+ * on top of those counts and marks itself done, under an advisory lock in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupService {
+
+    private static final String UPSERT_SQL =
+            """
+            insert into user_activity_rollups (user_id, granularity, type, is_unusual, bucket_start, activity_count)
+            values (?, ?, ?, ?, ?, ?)
+            on conflict (bucket_start, granularity, type, is_unusual, user_id)
+            do update set activity_count = user_activity_rollups.activity_count + excluded.activity_count
+            """;
+
+    // Deployments whose rollups predate the marker were backfilled by the earlier empty-table check
+    private static final String BACKFILL_CUTOFF_SQL =
+            """
+            insert into activity_rollup_backfill (id, cutoff, completed_at)
+            select ?, ?, case when exists (select 1 from user_activity_rollups) then now() end
+            on conflict (id) do nothing
+            """;
+    private static final String BACKFILL_LOCK_SQL = "select pg_try_advisory_xact_lock(hashtext('user_activity_rollups_backfill'))";
+    private static final String BACKFILL_SQL =
+            """
+            insert into user_activity_rollups (user_id, granularity, type, is_unusual, bucket_start, activity_count)
+            select user_id, cast(? as varchar), type, is_unusual,
+                   to_timestamp(floor(extract(epoch from timestamp) / ?) * ?), count(*)
+            from user_activities
+            where timestamp >= ? and timestamp < ?
+            group by 1, 2, 3, 4, 5
+            on conflict (bucket_start, granularity, type, is_unusual, user_id)
+            do update set activity_count = user_activity_rollups.activity_count + excluded.activity_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityRollupRepository rollupRepository;
+    private final ActivityRollupBackfillRepository backfillRepository;
+
+    /**
+     * Adds the activities to every granularity's buckets. Runs in the caller's transaction so the
+     * rollups commit together with the raw rows.
+     */
+    public void apply(Collection<Increment> increments) {
+        // Sorted keys: concurrent writers lock rollup rows in the same order
+        Map<String, Object[]> rows = new TreeMap<>();
+        for (Increment increment : increments) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant bucket = granularity.bucketStart(increment.timestamp());
+                String key = increment.userId() + "|" + granularity + "|" + increment.type() + "|"
+                        + increment.unusual() + "|" + bucket.getEpochSecond();
+                Object[] row = rows.computeIfAbsent(key, k -> new Object[] {
+                        increment.userId(),
+                        granularity.name(),
+                        increment.type().name(),
+                        increment.unusual(),
+                        Timestamp.from(bucket),
+                        0L
+                });
+                row[5] = (long) row[5] + 1;
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(rows.values()));
+        }
+    }
+
+    /**
+     * Activity counts between {@code from} and {@code to}, for all users or for one user.
+     */
+    @Transactional(readOnly = true)
+    public ActivityStatsDTO stats(Instant from, Instant to, RollupGranularity granularity, UUID userId) {
+        Instant alignedFrom = granularity.bucketStart(from);
+        List<Object[]> rows = userId == null
+                ? rollupRepository.series(granularity, alignedFrom, to)
+                : rollupRepository.seriesForUser(userId, granularity, alignedFrom, to);
+
+        Map<String, Long> totalsByType = new TreeMap<>();
+        long unusualTotal = 0;
+        List<ActivityStatsBucketDTO> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String type = ((ActivityType) row[1]).name();
+            boolean unusual = (Boolean) row[2];
+            long count = ((Number) row[3]).longValue();
+            buckets.add(new ActivityStatsBucketDTO((Instant) row[0], type, unusual, count));
+            totalsByType.merge(type, count, Long::sum);
+            if (unusual) unusualTotal += count;
+        }
+        buckets.sort(Comparator.comparing(ActivityStatsBucketDTO::getBucketStart));
+
+        return ActivityStatsDTO.builder()
+                .from(alignedFrom)
+                .to(to)
+                .granularity(granularity.name())
+                .totalsByType(totalsByType)
+                .unusualTotal(unusualTotal)
+                .buckets(buckets)
+                .build();
+    }
+
+    /**
+     * Records the backfill cut-off. Runs before the {@link ActivityWriter}, which depends on this
+     * service, starts writing rollups.
+     */
+    @PostConstruct
+    void recordBackfillCutoff() {
+        try {
+            // Application clock, like the activity timestamps it is compared with
+            jdbcTemplate.update(BACKFILL_CUTOFF_SQL, ActivityRollupBackfill.ID, Timestamp.from(Instant.now()));
+        } catch (Exception e) {
+            log.warn("Could not record the activity rollup backfill cut-off: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds activities older than the cut-off to the rollups, once across all instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        try {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(BACKFILL_LOCK_SQL, Boolean.class))) return;
+            ActivityRollupBackfill state = backfillRepository.findById(ActivityRollupBackfill.ID).orElse(null);
+            if (state == null || state.getCompletedAt() != null) return;
+
+            Timestamp cutoff = Timestamp.from(state.getCutoff());
+            Instant fineFrom = state.getCutoff().minus(Duration.ofDays(2));
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant from = granularity == RollupGranularity.FIVE_MINUTES ? fineFrom : Instant.EPOCH;
+                long seconds = granularity.getSize().toSeconds();
+                int merged = jdbcTemplate.update(
+                        BACKFILL_SQL, granularity.name(), seconds, seconds, Timestamp.from(from), cutoff);
+                log.info("Backfilled {} {} activity rollups before {}", merged, granularity, state.getCutoff());
+            }
+            state.setCompletedAt(Instant.now());
+        } catch (Exception e) {
+            // Rolled back as a whole; the next start retries
+            log.warn("Activity rollup backfill failed: {}", e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    public record Increment(UUID userId, ActivityType type, boolean unusual, Instant timestamp) {}
+}
@@ -1,54 +1,112 @@
 package com.vaultx.user.context.service.user;
 
+import com.vaultx.user.context.model.CursorPage;
 import com.vaultx.user.context.model.activity.Activity;
 import com.vaultx.user.context.model.activity.ActivityResponseDTO;
 import com.vaultx.user.context.model.activity.ActivityType;
 import com.vaultx.user.context.model.user.User;
 import com.vaultx.user.context.repository.ActivityRepository;
+import com.vaultx.user.context.utils.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ActivityService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final ActivityRepository repository;
+    private final ActivityWriter activityWriter;
 
+    /**
+     * Queues the activity for the background {@link ActivityWriter}. Inside a transaction it is queued
+     * only once the transaction commits, so rolled-back work leaves no trace.
+     */
     public void logActivity(User user, ActivityType type, String desc, boolean unusual, String details) {
+        UUID userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activityWriter.submit(userId, type, desc, unusual, details);
+                }
+            });
+        } else {
+            activityWriter.submit(userId, type, desc, unusual, details);
+        }
 
-        repository.save(Activity.builder()
-                .id("act_" + UUID.randomUUID().toString().replace("-", ""))
-                .user(user)
-                .type(type)
-                .description(desc)
-                .timestamp(Instant.now())
-                .isUnusual(unusual)
-                .details(details)
-                .build());
-
-        log.info("Activity logged: {} for user {}", type, user.getId());
+        log.debug("Activity logged: {} for user {}", type, userId);
     }
 
+    /**
+     * One page of the user's activities, newest first, filtered in SQL.
+     *
+     * @param type   activity type, or "all"; an unknown type yields an empty page
+     * @param from   inclusive lower bound on the timestamp, optional
+     * @param to     exclusive upper bound on the timestamp, optional
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     */
     @Transactional(readOnly = true)
-    public List<ActivityResponseDTO> getUserActivities(String type, User user) {
-        return repository.findByUserOrderByTimestampDesc(user).stream()
-                .map(this::toDto)
-                .filter(dto -> "all".equalsIgnoreCase(type) || type.equalsIgnoreCase(dto.getType()))
-                .collect(Collectors.toList());
+    public CursorPage<ActivityResponseDTO> getUserActivities(
+            String type, Instant from, Instant to, String cursor, int limit, User user) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        Specification<Activity> spec = (root, query, cb) -> cb.equal(root.get("user").get("id"), user.getId());
+        if (type != null && !"all".equalsIgnoreCase(type)) {
+            ActivityType activityType = parseType(type);
+            if (activityType == null) {
+                return new CursorPage<>(List.of(), null);
+            }
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), activityType));
+        }
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("timestamp"), to));
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("timestamp"), after.timestamp()),
+                    cb.and(
+                            cb.equal(root.get("timestamp"), after.timestamp()),
+                            cb.lessThan(root.get("id"), after.id()))));
+        }
+
+        List<Activity> rows = repository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id")))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Activity> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Activity last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(this::toDto).toList(), nextCursor);
     }
 
-    public int countRecentActivities(UUID userId, ActivityType type, boolean unusual, Duration within) {
-        Instant cutoff = Instant.now().minus(within);
-        return repository.countByUserIdAndTypeAndIsUnusualAndTimestampAfter(userId, type, unusual, cutoff);
+    private static ActivityType parseType(String type) {
+        try {
+            return ActivityType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /*----------  mapper  ----------*/
@@ -0,0 +1,224 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.model.activity.ActivityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes user activities in the background.
+ * <p>
+ * {@link #submit} puts the activity on a bounded ring buffer and returns; one writer thread drains
+ * up to {@code batch-size} entries at a time into a single JDBC batch insert, and updates the
+ * {@link ActivityRollupService rollups} in the same transaction. When the buffer is full the
+ * {@link OverflowPolicy} decides what happens. A failed batch is retried row by row, so one bad row
+ * only loses itself. Remaining entries are flushed on shutdown.
+ * <p>
+ * Metrics: {@code vaultx.activity.writer.queue.size} (backlog), {@code .lag} (time from submit to
+ * insert), {@code .batch.size}, and {@code .dropped} tagged with the reason.
+ */
+@Component
+@Slf4j
+public class ActivityWriter {
+
+    private static final String METRIC_PREFIX = "vaultx.activity.writer";
+    private static final int MAX_DETAILS_LENGTH = 1000;
+    private static final String INSERT_SQL =
+            "insert into user_activities (id, user_id, type, description, timestamp, is_unusual, details) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityRollupService rollupService;
+    private final ArrayBlockingQueue<ActivityRecord> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+    private final Counter droppedOverflow;
+    private final Counter droppedError;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public ActivityWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ActivityRollupService rollupService,
+            MeterRegistry meterRegistry,
+            @Value("${vaultx.activity.writer.capacity:10000}") int capacity,
+            @Value("${vaultx.activity.writer.batch-size:500}") int batchSize,
+            @Value("${vaultx.activity.writer.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy,
+            @Value("${vaultx.activity.writer.block-timeout:PT1S}") Duration blockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+
+        Gauge.builder(METRIC_PREFIX + ".queue.size", buffer, ArrayBlockingQueue::size).register(meterRegistry);
+        this.lag = Timer.builder(METRIC_PREFIX + ".lag").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(METRIC_PREFIX + ".batch.size").register(meterRegistry);
+        this.droppedOverflow = meterRegistry.counter(METRIC_PREFIX + ".dropped", "reason", "overflow");
+        this.droppedError = meterRegistry.counter(METRIC_PREFIX + ".dropped", "reason", "error");
+
+        this.writer = new Thread(this::writeLoop, "activity-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void submit(UUID userId, ActivityType type, String description, boolean unusual, String details) {
+        ActivityRecord record = new ActivityRecord(
+                "act_" + UUID.randomUUID().toString().replace("-", ""),
+                userId,
+                type,
+                description,
+                Instant.now(),
+                unusual,
+                details != null && details.length() > MAX_DETAILS_LENGTH
+                        ? details.substring(0, MAX_DETAILS_LENGTH)
+                        : details,
+                System.nanoTime());
+
+        if (running && buffer.offer(record)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> drop(record);
+            case DROP_OLDEST -> {
+                ActivityRecord oldest = buffer.poll();
+                if (oldest != null) drop(oldest);
+                if (!buffer.offer(record)) drop(record);
+            }
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(record, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) drop(record);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(record);
+                }
+            }
+            case CALLER_RUNS -> write(List.of(record));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<ActivityRecord> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+    }
+
+    private void writeLoop() {
+        List<ActivityRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ActivityRecord> batch) {
+        batchSizes.record(batch.size());
+        try {
+            insert(batch);
+        } catch (Exception e) {
+            log.warn("Activity batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (ActivityRecord record : batch) {
+                try {
+                    insertOne(record);
+                } catch (Exception single) {
+                    log.error("Dropping activity {} for user {}: {}", record.type(), record.userId(), single.getMessage());
+                    droppedError.increment();
+                }
+            }
+        }
+        long now = System.nanoTime();
+        batch.forEach(record -> lag.record(now - record.submittedAtNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private void insert(List<ActivityRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, records.stream().map(ActivityRecord::toRow).toList());
+            rollupService.apply(records.stream().map(ActivityRecord::toIncrement).toList());
+        });
+    }
+
+    private void insertOne(ActivityRecord record) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_SQL, record.toRow());
+            rollupService.apply(List.of(record.toIncrement()));
+        });
+    }
+
+    private void drop(ActivityRecord record) {
+        droppedOverflow.increment();
+        log.warn("Activity buffer full, dropping {} for user {}", record.type(), record.userId());
+    }
+
+    /**
+     * What {@link #submit} does when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the activity being submitted. */
+        DROP_NEWEST,
+        /** Discard the oldest buffered activity to make room. */
+        DROP_OLDEST,
+        /** Wait up to {@code block-timeout} for room, then discard. */
+        BLOCK,
+        /** Insert synchronously on the calling thread. */
+        CALLER_RUNS
+    }
+
+    private record ActivityRecord(
+            String id,
+            UUID userId,
+            ActivityType type,
+            String description,
+            Instant timestamp,
+            boolean unusual,
+            String details,
+            long submittedAtNanos) {
+
+        Object[] toRow() {
+            return new Object[] {id, userId, type.name(), description, Timestamp.from(timestamp), unusual, details};
+        }
+
+        ActivityRollupService.Increment toIncrement() {
+            return new ActivityRollupService.Increment(userId, type, unusual, timestamp);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vaultx.user.context.service.user;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Renders a deterministic identicon-style PNG avatar from a user id, fully in-process.
+ * <p>
+ * The SHA-256 of the id picks a foreground hue and a horizontally mirrored 5x5 pattern,
+ * so the same user always gets the same picture and no network call is needed.
+ */
+@Component
+public class AvatarGenerator {
+
+    private static final int GRID = 5;
+    private static final int CELL = 24;
+    private static final int MARGIN = 16;
+    private static final int SIZE = GRID * CELL + 2 * MARGIN;
+    private static final Color BACKGROUND = new Color(0xF0, 0xF0, 0xF0);
+
+    public byte[] generatePng(UUID userId) {
+        byte[] hash = sha256(userId);
+
+        float hue = (hash[0] & 0xFF) / 255f;
+        float saturation = 0.45f + (hash[1] & 0xFF) / 255f * 0.35f;
+        float brightness = 0.55f + (hash[2] & 0xFF) / 255f * 0.25f;
+        Color foreground = Color.getHSBColor(hue, saturation, brightness);
+
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, SIZE, SIZE);
+            g.setColor(foreground);
+
+            // Only the left three columns are derived from the hash; the rest mirrors them
+            int bit = 0;
+            for (int col = 0; col < (GRID + 1) / 2; col++) {
+                for (int row = 0; row < GRID; row++) {
+                    boolean filled = ((hash[3 + bit / 8] >> (bit % 8)) & 1) == 1;
+                    bit++;
+                    if (filled) {
+                        fillCell(g, col, row);
+                        fillCell(g, GRID - 1 - col, row);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode avatar PNG", e);
+        }
+    }
+
+    private static void fillCell(Graphics2D g, int col, int row) {
+        g.fillRect(MARGIN + col * CELL, MARGIN + row * CELL, CELL, CELL);
+    }
+
+    private static byte[] sha256(UUID userId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(userId.getMostSignificantBits());
+        buffer.putLong(userId.getLeastSignificantBits());
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(buffer.array());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.exception.UserNotFoundException;
+import com.vaultx.user.context.model.user.UserRegisteredEvent;
+import com.vaultx.user.context.repository.UserRepository;
+import com.vaultx.user.context.service.file.AvatarStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Avatars are PNG objects in MinIO; the users row only keeps their version, which doubles as the ETag.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarService {
+
+    private final AvatarGenerator avatarGenerator;
+    private final AvatarStorageService avatarStorageService;
+    private final UserRepository userRepository;
+
+    /**
+     * Generates the default avatar once the user row is committed (immediately when registration ran
+     * without a surrounding transaction). Runs asynchronously so registration never waits for it.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        try {
+            storeAvatar(event.userId(), avatarGenerator.generatePng(event.userId()));
+        } catch (Exception e) {
+            log.warn("Could not generate avatar for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads the image and records its version on the user.
+     */
+    public String storeAvatar(UUID userId, byte[] png) throws IOException {
+        String version = avatarStorageService.store(userId, png);
+        userRepository.updateAvatarVersion(userId, version);
+        return version;
+    }
+
+    /**
+     * Current avatar version of the user. Users without one (registered before avatars moved to
+     * object storage, or whose generation failed) get their default avatar rendered on first request.
+     */
+    public String getAvatarVersion(UUID userId) {
+        return userRepository.findAvatarVersionById(userId).orElseGet(() -> {
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("User not found with ID: " + userId);
+            }
+            try {
+                return storeAvatar(userId, avatarGenerator.generatePng(userId));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public byte[] getAvatar(UUID userId) {
+        try {
+            return avatarStorageService.load(userId);
+        } catch (FileNotFoundException e) {
+            throw new UserNotFoundException("Avatar not found for user: " + userId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
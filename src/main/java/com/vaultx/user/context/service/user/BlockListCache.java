@@ -0,0 +1,160 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.model.user.BlocksChangedEvent;
+import com.vaultx.user.context.repository.UserBlockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user block sets cached in Redis:
+ * <pre>
+ * blocks:{userId}:out       set     ids the user blocked      (+ marker member, TTL)
+ * blocks:{userId}:in        set     ids that blocked the user (+ marker member, TTL)
+ * blocks:{userId}:version   string  bumped whenever either set changes
+ * </pre>
+ * Sets are loaded from {@code user_blocks} on first use and dropped after a block change commits.
+ * A loaded set is only written if the version is still the one read before the load, so a snapshot
+ * taken before a block committed never repopulates the cache after its eviction. The marker member distinguishes a cached empty set from a missing one. The version starts at the
+ * current epoch millis so it keeps growing across Redis flushes. On Redis errors the database is used.
+ */
+@Service
+@Slf4j
+public class BlockListCache {
+
+    private static final String KEY_PREFIX = "blocks:";
+    private static final String BLOCKED = ":out";
+    private static final String BLOCKED_BY = ":in";
+    private static final String VERSION = ":version";
+    private static final String LOADED_MARKER = "~";
+    /**
+     * KEYS[1] set, KEYS[2] version; ARGV[1] version read before loading, ARGV[2] TTL millis, ARGV[3..]
+     * members including the marker. Returns 1 when written, 0 when the version moved on.
+     */
+    private static final RedisScript<Long> POPULATE_SCRIPT = new DefaultRedisScript<>(
+            """
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('SADD', KEYS[1], unpack(ARGV, 3))
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserBlockRepository userBlockRepository;
+    private final Duration ttl;
+
+    public BlockListCache(
+            StringRedisTemplate redisTemplate,
+            UserBlockRepository userBlockRepository,
+            @Value("${vaultx.blocks.cache-ttl:PT1H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.userBlockRepository = userBlockRepository;
+        this.ttl = ttl;
+    }
+
+    public Set<UUID> getBlocked(UUID userId) {
+        return members(KEY_PREFIX + userId, BLOCKED, () -> userBlockRepository.findBlockedIds(userId));
+    }
+
+    public Set<UUID> getBlockedBy(UUID userId) {
+        return members(KEY_PREFIX + userId, BLOCKED_BY, () -> userBlockRepository.findBlockerIds(userId));
+    }
+
+    /**
+     * Whether {@code blockerId} blocked {@code blockedId}; one SMISMEMBER when the set is cached.
+     */
+    public boolean isBlocked(UUID blockerId, UUID blockedId) {
+        try {
+            String key = KEY_PREFIX + blockerId + BLOCKED;
+            Map<Object, Boolean> membership = setOps().isMember(key, LOADED_MARKER, blockedId.toString());
+            if (membership != null && Boolean.TRUE.equals(membership.get(LOADED_MARKER))) {
+                return Boolean.TRUE.equals(membership.get(blockedId.toString()));
+            }
+            return getBlocked(blockerId).contains(blockedId);
+        } catch (Exception e) {
+            log.warn("Block cache unavailable, checking database: {}", e.getMessage());
+            return userBlockRepository.existsByIds(blockerId, blockedId);
+        }
+    }
+
+    public long getVersion(UUID userId) {
+        try {
+            String version = version(KEY_PREFIX + userId);
+            return version != null ? Long.parseLong(version) : 0;
+        } catch (Exception e) {
+            log.warn("Could not read block list version of {}: {}", userId, e.getMessage());
+            return 0;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlocksChanged(BlocksChangedEvent event) {
+        evict(KEY_PREFIX + event.blockerId(), BLOCKED);
+        event.blockedIds().forEach(blockedId -> evict(KEY_PREFIX + blockedId, BLOCKED_BY));
+    }
+
+    private void evict(String userKey, String set) {
+        try {
+            // Version first, so a populate running after the delete sees it moved on
+            redisTemplate.opsForValue().setIfAbsent(userKey + VERSION, String.valueOf(System.currentTimeMillis()));
+            redisTemplate.opsForValue().increment(userKey + VERSION);
+            redisTemplate.delete(userKey + set);
+        } catch (Exception e) {
+            log.warn("Could not evict block set {}{}: {}", userKey, set, e.getMessage());
+        }
+    }
+
+    private String version(String userKey) {
+        redisTemplate.opsForValue().setIfAbsent(userKey + VERSION, String.valueOf(System.currentTimeMillis()));
+        return redisTemplate.opsForValue().get(userKey + VERSION);
+    }
+
+    private Set<UUID> members(String userKey, String set, Supplier<Set<UUID>> loader) {
+        String key = userKey + set;
+        try {
+            Set<String> cached = setOps().members(key);
+            if (cached != null && cached.contains(LOADED_MARKER)) {
+                return cached.stream()
+                        .filter(member -> !LOADED_MARKER.equals(member))
+                        .map(UUID::fromString)
+                        .collect(Collectors.toSet());
+            }
+
+            // Read before loading: an eviction in between makes the populate a no-op
+            String version = version(userKey);
+            Set<UUID> loaded = loader.get();
+            Object[] args = new Object[loaded.size() + 3];
+            args[0] = version;
+            args[1] = String.valueOf(ttl.toMillis());
+            args[2] = LOADED_MARKER;
+            int i = 3;
+            for (UUID id : loaded) {
+                args[i++] = id.toString();
+            }
+            redisTemplate.execute(POPULATE_SCRIPT, List.of(key, userKey + VERSION), args);
+            return loaded;
+        } catch (Exception e) {
+            log.warn("Block cache unavailable for {}, reading database: {}", key, e.getMessage());
+            return loader.get();
+        }
+    }
+
+    private SetOperations<String, String> setOps() {
+        return redisTemplate.opsForSet();
+    }
+}
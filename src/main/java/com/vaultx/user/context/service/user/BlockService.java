@@ -1,16 +1,23 @@
 package com.vaultx.user.context.service.user;
 
 import com.vaultx.user.context.model.activity.ActivityType;
+import com.vaultx.user.context.model.user.BlockListDTO;
+import com.vaultx.user.context.model.user.BlocksChangedEvent;
 import com.vaultx.user.context.model.user.User;
 import com.vaultx.user.context.model.user.UserBlock;
 import com.vaultx.user.context.repository.UserBlockRepository;
 import com.vaultx.user.context.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -20,6 +27,8 @@ public class BlockService {
     private final UserRepository userRepository;
     private final UserBlockRepository userBlockRepository;
     private final ActivityService activityService;
+    private final BlockListCache blockListCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void blockUser(UUID blockerId, UUID blockedId) {
@@ -27,14 +36,14 @@ public class BlockService {
             throw new IllegalArgumentException("Cannot block yourself");
         }
 
-        User blocker = findUser(blockerId);
-        User blocked = findUser(blockedId);
-
         // Check if already blocked
-        if (userBlockRepository.existsByBlockerAndBlocked(blocker, blocked)) {
+        if (userBlockRepository.existsByIds(blockerId, blockedId)) {
             return; // Already blocked, nothing to do
         }
 
+        User blocker = findUser(blockerId);
+        User blocked = findUser(blockedId);
+
         // Create a new block relationship
         UserBlock userBlock = UserBlock.builder()
                 .blocker(blocker)
@@ -43,17 +52,61 @@ public class BlockService {
                 .build();
 
         userBlockRepository.save(userBlock);
+        eventPublisher.publishEvent(new BlocksChangedEvent(blockerId, List.of(blockedId)));
 
         activityService.logActivity(
                 blocker, ActivityType.USER_ACTION, "Blocked a user", false, "Blocked user: " + blocked.getUsername());
     }
 
+    /**
+     * Blocks every listed user in one transaction; ids that are unknown, already blocked or the
+     * blocker itself are skipped.
+     *
+     * @return number of newly blocked users
+     */
+    @Transactional
+    public int blockUsers(UUID blockerId, Collection<UUID> blockedIds) {
+        Set<UUID> requested = new LinkedHashSet<>(blockedIds);
+        requested.remove(blockerId);
+        if (requested.isEmpty()) {
+            return 0;
+        }
+        requested.removeAll(userBlockRepository.findBlockedIdsIn(blockerId, requested));
+
+        List<User> toBlock = userRepository.findAllById(requested);
+        if (toBlock.isEmpty()) {
+            return 0;
+        }
+
+        User blocker = findUser(blockerId);
+        Instant now = Instant.now();
+        userBlockRepository.saveAll(toBlock.stream()
+                .map(blocked -> UserBlock.builder()
+                        .blocker(blocker)
+                        .blocked(blocked)
+                        .createdAt(now)
+                        .build())
+                .toList());
+        eventPublisher.publishEvent(
+                new BlocksChangedEvent(blockerId, toBlock.stream().map(User::getId).toList()));
+
+        activityService.logActivity(
+                blocker,
+                ActivityType.USER_ACTION,
+                "Blocked " + toBlock.size() + " users",
+                false,
+                "Blocked users: " + String.join(", ", toBlock.stream().map(User::getUsername).toList()));
+        return toBlock.size();
+    }
+
     @Transactional
     public void unblockUser(UUID blockerId, UUID blockedId) {
         User blocker = findUser(blockerId);
         User blocked = findUser(blockedId);
 
-        userBlockRepository.findByBlockerAndBlocked(blocker, blocked).ifPresent(userBlockRepository::delete);
+        if (userBlockRepository.deleteByIds(blockerId, blockedId) > 0) {
+            eventPublisher.publishEvent(new BlocksChangedEvent(blockerId, List.of(blockedId)));
+        }
 
         activityService.logActivity(
                 blocker,
@@ -63,12 +116,17 @@ public class BlockService {
                 "Unblocked user: " + blocked.getUsername());
     }
 
-    @Transactional(readOnly = true)
     public boolean isUserBlocked(UUID blockerId, UUID blockedId) {
-        User blocker = findUser(blockerId);
-        User blocked = findUser(blockedId);
+        return blockListCache.isBlocked(blockerId, blockedId);
+    }
 
-        return userBlockRepository.existsByBlockerAndBlocked(blocker, blocked);
+    /**
+     * Both block directions of the user, read from the cached sets.
+     */
+    public BlockListDTO getBlockList(UUID userId) {
+        // Version first: a change racing with this read then shows up as a newer version next time
+        long version = blockListCache.getVersion(userId);
+        return new BlockListDTO(blockListCache.getBlocked(userId), blockListCache.getBlockedBy(userId), version);
     }
 
     /*----------  helper  ----------*/
@@ -2,29 +2,32 @@ package com.vaultx.user.context.service.user;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vaultx.user.context.model.CursorPage;
 import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.DIDEventFilter;
+import com.vaultx.user.context.model.blockchain.DIDEventRecord;
 import com.vaultx.user.context.model.blockchain.EventHistory;
 import com.vaultx.user.context.model.blockchain.EventType;
-import com.vaultx.user.context.model.file.FileBlockchainMeta;
 import com.vaultx.user.context.model.user.User;
-import com.vaultx.user.context.service.kafka.KafkaProducer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Base64;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import static com.vaultx.user.context.model.activity.ActivityType.BLOCKCHAIN;
 import static com.vaultx.user.context.model.blockchain.EventType.*;
@@ -33,26 +36,34 @@ import static com.vaultx.user.context.model.blockchain.EventType.*;
 @Slf4j
 public class BlockchainService {
 
-    private final KafkaProducer kafkaProducer;
+    private final DIDEventPublisher publisher;
+    private final DIDEventAnchorService anchorService;
     private final ActivityService activityService;
-    private final RestTemplate rest;
-    private final String baseUrl;
-    private final String username;
-    private final String password;
+    private final DIDEventMirrorService mirrorService;
+    private final HyperledgerClient ledger;
+    private final ObjectWriter payloadWriter;
+    /**
+     * Runs database work that follows a ledger call, off the HTTP client's few completion threads.
+     */
+    private final Executor applicationTaskExecutor;
 
     public BlockchainService(
-            KafkaProducer kafkaProducer,
+            DIDEventPublisher publisher,
+            DIDEventAnchorService anchorService,
             ActivityService activityService,
-            RestTemplate rest,
-            @Value("${hyperledger.base-url}") String baseUrl,
-            @Value("${hyperledger.user}") String username,
-            @Value("${hyperledger.password}") String password) {
-        this.kafkaProducer = kafkaProducer;
+            DIDEventMirrorService mirrorService,
+            HyperledgerClient ledger,
+            ObjectMapper objectMapper,
+            @Qualifier("applicationTaskExecutor") Executor applicationTaskExecutor) {
+        this.publisher = publisher;
+        this.anchorService = anchorService;
         this.activityService = activityService;
-        this.rest = rest;
-        this.baseUrl = baseUrl;
-        this.username = username;
-        this.password = password;
+        this.mirrorService = mirrorService;
+        this.ledger = ledger;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.payloadWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writer();
     }
 
     /**
@@ -76,91 +87,162 @@ public class BlockchainService {
     }
 
     /**
-     * Serializes any object to JSON string, handling nested objects and dates.
-     *
-     * @param object Object to serialize
-     * @return JSON string representation
+     * Serializes a DID event payload (nested objects, ISO dates, nulls left out) with a writer derived
+     * once from the application mapper.
      */
-    public static String serializeToJson(Object object) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-
+    String serializeToJson(Object payload) {
         try {
-            return objectMapper.writeValueAsString(object);
+            return payloadWriter.writeValueAsString(payload);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error serializing object to JSON", e);
         }
     }
 
-    private HttpHeaders createBasicAuthHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        if (username != null && !username.isEmpty() && password != null) {
-            String auth = username + ":" + password;
-            String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
-            headers.set("Authorization", "Basic " + encodedAuth);
-        }
-        return headers;
+    /**
+     * The user's full event history, straight from the ledger. Reads should go through the mirror
+     * ({@link #findEventsAsync} etc.); this is for reconciliation.
+     */
+    public CompletableFuture<List<DIDEvent>> getEventsByUserAsync(UUID userId) {
+        return ledger.query("queryEventsByUser", "userId", userId, new TypeReference<List<DIDEvent>>() {})
+                .thenApply(events -> events != null ? events : List.of());
     }
 
+    /**
+     * Blocking variant of {@link #getEventsByUserAsync}, for background jobs.
+     */
     public List<DIDEvent> getEventsByUser(UUID userId) {
-        String url = String.format("%s/api/chaincode/queryEventsByUser?userId=%s", baseUrl, userId);
-        HttpEntity<Void> requestEntity = new HttpEntity<>(createBasicAuthHeaders());
-        ResponseEntity<List<DIDEvent>> resp =
-                rest.exchange(url, HttpMethod.GET, requestEntity, new ParameterizedTypeReference<>() {
-                });
-        return resp.getBody();
-    }
-
-    public DIDEvent getEvent(UUID eventId) {
-        String url = String.format("%s/api/chaincode/queryEvent?eventId=%s", baseUrl, eventId);
-        HttpEntity<Void> requestEntity = new HttpEntity<>(createBasicAuthHeaders());
-        return rest.exchange(url, HttpMethod.GET, requestEntity, DIDEvent.class).getBody();
-    }
-
-    public List<EventHistory> getEventHistory(UUID eventId) {
-        String url = String.format("%s/api/chaincode/queryHistory?eventId=%s", baseUrl, eventId);
-        HttpEntity<Void> requestEntity = new HttpEntity<>(createBasicAuthHeaders());
-        ResponseEntity<List<EventHistory>> resp =
-                rest.exchange(url, HttpMethod.GET, requestEntity, new ParameterizedTypeReference<>() {
-                });
-        return resp.getBody();
-    }
-
-    public DIDEvent getFileEvent(UUID userId, UUID fileId) {
-        List<DIDEvent> events = getEventsByUser(userId);
-        return events.stream()
-                .filter(event -> event.getEventType() == FILE_UPLOAD)
-                .filter(event -> {
-                    try {
-                        ObjectMapper mapper = new ObjectMapper();
-                        FileBlockchainMeta meta = mapper.readValue(event.getPayload(), FileBlockchainMeta.class);
-                        return meta.getFileId().equals(fileId);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse FileBlockchainMeta from event {}: {}", event.getEventId(), e.getMessage());
-                        return false;
-                    }
-                })
-                .findFirst()
+        return await(getEventsByUserAsync(userId));
+    }
+
+    /**
+     * Reconciles the user's mirrored events with the ledger.
+     */
+    public CompletableFuture<Void> syncUserAsync(UUID userId) {
+        return getEventsByUserAsync(userId)
+                .thenAcceptAsync(events -> mirrorService.reconcile(userId, events), applicationTaskExecutor);
+    }
+
+    /**
+     * Blocking variant of {@link #syncUserAsync}, for background jobs.
+     */
+    public void syncUser(UUID userId) {
+        await(syncUserAsync(userId));
+    }
+
+    public CompletableFuture<CursorPage<DIDEvent>> findEventsAsync(DIDEventFilter filter) {
+        return ensureSynced(filter.getUserId())
+                .thenApplyAsync(synced -> mirrorService.findEvents(filter), applicationTaskExecutor);
+    }
+
+    public CompletableFuture<Map<String, Long>> countEventsByTypeAsync(UUID userId) {
+        return ensureSynced(userId)
+                .thenApplyAsync(synced -> mirrorService.countByType(userId), applicationTaskExecutor);
+    }
+
+    /**
+     * Streams the user's events from the mirror; call {@link #ensureSynced} first.
+     */
+    public void streamEvents(UUID userId, Consumer<DIDEvent> consumer) {
+        mirrorService.streamEvents(userId, consumer);
+    }
+
+    /**
+     * The event from the mirror, with its checked inclusion proof when it was Merkle-anchored, or from
+     * the ledger when it has not been mirrored yet.
+     */
+    public CompletableFuture<DIDEvent> getEventAsync(UUID eventId) {
+        return mirrorService.findRecord(eventId)
+                .map(record -> CompletableFuture.completedFuture(withProof(record)))
+                .orElseGet(() -> ledger.query("queryEvent", "eventId", eventId, new TypeReference<DIDEvent>() {}));
+    }
+
+    public CompletableFuture<List<EventHistory>> getEventHistoryAsync(UUID eventId) {
+        return ledger.query("queryHistory", "eventId", eventId, new TypeReference<List<EventHistory>>() {});
+    }
+
+    /**
+     * The ledger-confirmed FILE_UPLOAD event for the file, published by one of {@code participants},
+     * or {@code null}. Looked up through the mirror's file id index; the publisher (or, for an
+     * anchored event, the anchor) is reconciled with the ledger first when the event is still
+     * pending, or every participant that was never reconciled when there is no row at all.
+     */
+    public DIDEvent getFileEvent(UUID fileId, Collection<UUID> participants) {
+        Optional<DIDEventRecord> record = mirrorService.findFileEvent(fileId, participants);
+        if (record.isPresent() && record.get().isConfirmed()) {
+            return withProof(record.get());
+        }
+
+        List<UUID> toSync = record.map(BlockchainService::ledgerOwner)
+                .orElseGet(() -> participants.stream().filter(userId -> !mirrorService.isSynced(userId)).toList());
+        if (toSync.isEmpty()) return null;
+        for (UUID userId : toSync) {
+            try {
+                syncUser(userId);
+            } catch (Exception e) {
+                log.warn("DID event sync for user {} failed during file lookup: {}", userId, e.getMessage());
+            }
+        }
+        return mirrorService.findFileEvent(fileId, participants)
+                .filter(DIDEventRecord::isConfirmed)
+                .map(this::withProof)
                 .orElse(null);
     }
 
+    private DIDEvent withProof(DIDEventRecord record) {
+        DIDEvent event = record.toEvent();
+        event.setAnchor(anchorService.proofFor(record));
+        return event;
+    }
+
     /**
-     * Send a DIDEvent to Kafka whenever a user is registered, updates their key, etc.
+     * Whose ledger history confirms the pending record: its publisher's, or the anchor's once it has
+     * been batched; nobody's while it waits for a batch.
+     */
+    private static List<UUID> ledgerOwner(DIDEventRecord pending) {
+        if (pending.getLeafHash() == null) return List.of(pending.getUserId());
+        return pending.getAnchorId() != null ? List.of(DIDEventAnchorService.ANCHOR_USER_ID) : List.of();
+    }
+
+    /**
+     * A user nobody has reconciled yet (e.g. events published before the mirror existed) is
+     * reconciled on first read; if the ledger is unavailable the mirror is served as is.
+     */
+    public CompletableFuture<Void> ensureSynced(UUID userId) {
+        if (mirrorService.isSynced(userId)) return CompletableFuture.completedFuture(null);
+        return syncUserAsync(userId).exceptionally(e -> {
+            log.warn("Initial DID event sync for user {} failed, serving the local mirror: {}", userId, e.getMessage());
+            return null;
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Records a DIDEvent whenever a user is registered, updates their key, etc. The event is handed to
+     * the {@link DIDEventPublisher} in the caller's transaction: on its own through the outbox, or
+     * into the next Merkle batch when anchoring is enabled.
      *
      * @param user      The user
      * @param eventType The type of event (REGISTER, KEY_UPDATED, ROLE_CHANGED)
      */
+    @Transactional
     public void recordDIDEvent(User user, EventType eventType, Object payload) {
 
         if (!user.isBlockchainConsent()) return;
 
         String jsonPayload = payload != null ? serializeToJson(payload) : null;
-        DIDEvent event = new DIDEvent(user.getId(), user.getPublicKey(), eventType, Instant.now(), jsonPayload);
-
-        kafkaProducer.sendDIDEvent(event);
+        // Microseconds, as stored: anchored events are re-hashed from the mirror
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        DIDEvent event = new DIDEvent(user.getId(), user.getPublicKey(), eventType, now, jsonPayload);
+        event.setEventId(UUID.randomUUID());
+        publisher.publish(event);
 
         String description = getDescription(eventType);
         activityService.logActivity(
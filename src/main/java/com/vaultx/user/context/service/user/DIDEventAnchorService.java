@@ -0,0 +1,187 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vaultx.user.context.model.blockchain.AnchorProof;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.DIDEventRecord;
+import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.repository.DIDEventRecordRepository;
+import com.vaultx.user.context.utils.CipherUtils;
+import com.vaultx.user.context.utils.MerkleTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Merkle-batched ledger anchoring ({@code vaultx.did-events.anchoring.enabled}).
+ * <p>
+ * Events waiting for an anchor are collected until the oldest has waited {@code window} or
+ * {@code max-batch} are pending; the batch's Merkle root is then published as one
+ * {@link EventType#MERKLE_ROOT_ANCHORED} event, and every event in it stores its root, leaf index and
+ * inclusion proof in the mirror. Reads recompute the leaf hash from the mirrored content and check it
+ * against the root through the proof.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DIDEventAnchorService {
+
+    /**
+     * Owner of the root events on the ledger; they belong to no user.
+     */
+    public static final UUID ANCHOR_USER_ID = new UUID(0L, 0L);
+
+    private static final String UNANCHORED_INDEX_SQL =
+            """
+            create index if not exists idx_did_events_unanchored on did_events (timestamp, event_id)
+            where leaf_hash is not null and anchor_id is null
+            """;
+    private static final String CLAIM_SQL =
+            """
+            select event_id, leaf_hash, timestamp from did_events
+            where leaf_hash is not null and anchor_id is null
+            order by timestamp, event_id
+            limit ?
+            for update skip locked
+            """;
+    private static final String ASSIGN_SQL =
+            "update did_events set anchor_id = ?, leaf_index = ?, merkle_proof = ? where event_id = ?";
+
+    private final DIDEventPublisher publisher;
+    private final DIDEventRecordRepository recordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${vaultx.did-events.anchoring.enabled:false}")
+    private boolean anchoringEnabled;
+
+    /**
+     * Leaf hash of an event: its id, owner, type, timestamp (microseconds, as stored), and digests of
+     * the public key and payload, one per line.
+     */
+    public static byte[] leafHash(DIDEvent event) {
+        String content = String.join("\n",
+                String.valueOf(event.getEventId()),
+                String.valueOf(event.getUserId()),
+                String.valueOf(event.getEventType()),
+                String.valueOf(ChronoUnit.MICROS.between(Instant.EPOCH, event.getTimestamp())),
+                digest(event.getPublicKey()),
+                digest(event.getPayload()));
+        return MerkleTree.hashLeaf(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPendingIndex() {
+        if (!anchoringEnabled) return;
+        try {
+            jdbcTemplate.execute(UNANCHORED_INDEX_SQL);
+        } catch (Exception e) {
+            log.warn("Could not create the unanchored DID event index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Anchors the oldest pending events if the batch is due: full, or its oldest event older than
+     * {@code window}. Rows are claimed with {@code SKIP LOCKED}, so instances never anchor the same
+     * event twice.
+     *
+     * @return the number of events anchored
+     */
+    @Transactional
+    public int anchorBatch(Duration window, int maxBatch) {
+        List<PendingLeaf> leaves = jdbcTemplate.query(
+                CLAIM_SQL,
+                (rs, rowNum) -> new PendingLeaf(
+                        rs.getObject("event_id", UUID.class),
+                        rs.getString("leaf_hash"),
+                        rs.getTimestamp("timestamp").toInstant()),
+                maxBatch);
+        if (leaves.isEmpty()) return 0;
+        if (leaves.size() < maxBatch && leaves.get(0).timestamp().isAfter(Instant.now().minus(window))) return 0;
+
+        MerkleTree tree = new MerkleTree(leaves.stream().map(leaf -> MerkleTree.fromHex(leaf.leafHash())).toList());
+        String root = MerkleTree.toHex(tree.root());
+
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("merkleRoot", root)
+                .put("leafCount", leaves.size())
+                .put("firstEventAt", leaves.get(0).timestamp().toString())
+                .put("lastEventAt", leaves.get(leaves.size() - 1).timestamp().toString());
+        DIDEvent anchor = new DIDEvent(
+                ANCHOR_USER_ID, null, EventType.MERKLE_ROOT_ANCHORED, Instant.now().truncatedTo(ChronoUnit.MICROS),
+                payload.toString());
+        anchor.setEventId(UUID.randomUUID());
+        publisher.publish(anchor);
+
+        List<Object[]> assignments = new ArrayList<>(leaves.size());
+        for (int i = 0; i < leaves.size(); i++) {
+            assignments.add(new Object[] {
+                    anchor.getEventId(), i, MerkleTree.encodeProof(tree.proof(i)), leaves.get(i).eventId()
+            });
+        }
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, assignments);
+        log.info("Anchored {} DID events under Merkle root {} (event {})", leaves.size(), root, anchor.getEventId());
+        return leaves.size();
+    }
+
+    /**
+     * The record's inclusion proof, checked against its root, or {@code null} when the event was
+     * published on its own.
+     */
+    @Transactional(readOnly = true)
+    public AnchorProof proofFor(DIDEventRecord record) {
+        if (record.getLeafHash() == null) return null;
+
+        byte[] leaf = leafHash(record.toEvent());
+        AnchorProof.AnchorProofBuilder proof = AnchorProof.builder()
+                .anchorEventId(record.getAnchorId())
+                .leafIndex(record.getLeafIndex())
+                .leafHash(MerkleTree.toHex(leaf))
+                .proof(record.getMerkleProof());
+        if (record.getAnchorId() == null) return proof.build();
+
+        DIDEventRecord anchor = recordRepository.findById(record.getAnchorId()).orElse(null);
+        String root = anchor != null ? rootOf(anchor) : null;
+        boolean verified = root != null
+                && MerkleTree.toHex(leaf).equals(record.getLeafHash())
+                && MerkleTree.verify(leaf, MerkleTree.decodeProof(record.getMerkleProof()), MerkleTree.fromHex(root));
+        if (!verified) {
+            log.warn("Merkle proof of DID event {} does not match anchor {}", record.getEventId(), record.getAnchorId());
+        }
+        return proof.merkleRoot(root)
+                .anchorConfirmed(anchor != null && anchor.isConfirmed())
+                .verified(verified)
+                .build();
+    }
+
+    private String rootOf(DIDEventRecord anchor) {
+        try {
+            JsonNode root = objectMapper.readTree(anchor.getPayload()).path("merkleRoot");
+            return root.isTextual() ? root.asText() : null;
+        } catch (Exception e) {
+            log.warn("Anchor event {} has no readable Merkle root: {}", anchor.getEventId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String digest(String value) {
+        return value == null ? "" : CipherUtils.getHash(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record PendingLeaf(UUID eventId, String leafHash, Instant timestamp) {}
+}
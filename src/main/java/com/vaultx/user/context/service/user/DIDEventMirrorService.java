@@ -0,0 +1,310 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.CursorPage;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.DIDEventFilter;
+import com.vaultx.user.context.model.blockchain.DIDEventRecord;
+import com.vaultx.user.context.model.blockchain.DIDEventSyncState;
+import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.repository.DIDEventRecordRepository;
+import com.vaultx.user.context.repository.DIDEventSyncStateRepository;
+import com.vaultx.user.context.utils.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres mirror of the DID events on the ledger ({@code did_events}), so event queries are indexed
+ * lookups instead of ledger round-trips. Events are stored when published and reconciled against
+ * the ledger's copy by {@link com.vaultx.user.context.jobs.DIDEventReconciliationJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DIDEventMirrorService {
+
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final String COLUMNS =
+            "event_id, user_id, public_key, event_type, timestamp, payload, payload_hash, kafka_offset, doc_type";
+    private static final String ORDER = " order by timestamp desc, event_id desc";
+    private static final String TSV_COLUMN_SQL =
+            """
+            alter table did_events add column if not exists payload_tsv tsvector
+            generated always as (jsonb_to_tsvector('simple', coalesce(payload_json, '{}'::jsonb), '["string"]')) stored
+            """;
+    private static final String TSV_INDEX_SQL =
+            "create index if not exists idx_did_events_payload_tsv on did_events using gin (payload_tsv)";
+    private static final RowMapper<DIDEvent> EVENT_MAPPER = (rs, rowNum) -> DIDEvent.builder()
+            .eventId(rs.getObject("event_id", UUID.class))
+            .userId(rs.getObject("user_id", UUID.class))
+            .publicKey(rs.getString("public_key"))
+            .eventType(EventType.valueOf(rs.getString("event_type")))
+            .timestamp(rs.getTimestamp("timestamp").toInstant())
+            .payload(rs.getString("payload"))
+            .payloadHash(rs.getString("payload_hash"))
+            .kafkaOffset(rs.getLong("kafka_offset"))
+            .docType(rs.getString("doc_type"))
+            .build();
+
+    private final DIDEventRecordRepository recordRepository;
+    private final DIDEventSyncStateRepository syncStateRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${vaultx.did-events.full-text.enabled:false}")
+    private boolean fullTextEnabled;
+
+    private volatile boolean fullTextReady;
+
+    /**
+     * Stores an event we just published; it stays unconfirmed until seen on the ledger, or until its
+     * Merkle root is when {@code leafHash} is set.
+     */
+    @Transactional
+    public void record(DIDEvent event, String leafHash) {
+        DIDEventRecord record = toRecord(event, false);
+        record.setLeafHash(leafHash);
+        recordRepository.save(record);
+    }
+
+    /**
+     * Replaces the user's mirrored events with the ledger's copy. Unconfirmed rows the ledger stored
+     * under a different id are matched on type and timestamp and removed.
+     */
+    @Transactional
+    public void reconcile(UUID userId, List<DIDEvent> ledgerEvents) {
+        List<DIDEventRecord> confirmed = ledgerEvents.stream()
+                .filter(event -> event.getEventId() != null)
+                .map(event -> toRecord(event, true))
+                .toList();
+        recordRepository.saveAll(confirmed);
+
+        Set<UUID> ledgerIds = confirmed.stream().map(DIDEventRecord::getEventId).collect(Collectors.toSet());
+        Set<String> ledgerKeys = confirmed.stream().map(DIDEventMirrorService::matchKey).collect(Collectors.toSet());
+        List<DIDEventRecord> superseded = recordRepository.findByUserIdAndConfirmedFalse(userId).stream()
+                .filter(pending -> pending.getLeafHash() == null)
+                .filter(pending -> !ledgerIds.contains(pending.getEventId()))
+                .filter(pending -> ledgerKeys.contains(matchKey(pending)))
+                .toList();
+        recordRepository.deleteAll(superseded);
+
+        List<UUID> anchors = confirmed.stream()
+                .filter(record -> record.getEventType() == EventType.MERKLE_ROOT_ANCHORED)
+                .map(DIDEventRecord::getEventId)
+                .toList();
+        if (!anchors.isEmpty()) {
+            recordRepository.confirmAnchored(anchors);
+        }
+
+        syncStateRepository.save(new DIDEventSyncState(userId, Instant.now(), confirmed.size()));
+        log.debug("Reconciled {} ledger events for user {} ({} pending rows superseded)",
+                confirmed.size(), userId, superseded.size());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isSynced(UUID userId) {
+        return syncStateRepository.existsById(userId);
+    }
+
+    /**
+     * Users due for reconciliation: those with new events still unconfirmed after {@code grace}, then
+     * consenting users not reconciled within {@code interval}.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> usersToReconcile(Duration grace, Duration interval, int limit) {
+        Instant now = Instant.now();
+        Set<UUID> users = new LinkedHashSet<>(
+                recordRepository.findUsersWithPendingEvents(now.minus(grace), PageRequest.ofSize(limit)));
+        if (users.size() < limit) {
+            users.addAll(syncStateRepository.findUsersToSync(now.minus(interval), PageRequest.ofSize(limit - users.size())));
+        }
+        return List.copyOf(users);
+    }
+
+    /**
+     * Creates the opt-in full-text index over the payloads' string values
+     * ({@code vaultx.did-events.full-text.enabled}). Until it exists, text search falls back to a
+     * substring match on the raw payload.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createFullTextIndex() {
+        if (!fullTextEnabled) return;
+        try {
+            jdbcTemplate.execute(TSV_COLUMN_SQL);
+            jdbcTemplate.execute(TSV_INDEX_SQL);
+            fullTextReady = true;
+            log.info("DID event full-text index ready");
+        } catch (Exception e) {
+            log.warn("Could not create the DID event full-text index, using substring search: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One page of the user's events, newest first, with every filter evaluated in SQL.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DIDEvent> findEvents(DIDEventFilter filter) {
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS).append(" from did_events where user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(filter.getUserId());
+
+        if (filter.getType() != null) {
+            sql.append(" and event_type = ?");
+            args.add(filter.getType().name());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" and timestamp >= ?");
+            args.add(Timestamp.from(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" and timestamp <= ?");
+            args.add(Timestamp.from(filter.getTo()));
+        }
+        if (filter.getPayloadFields() != null) {
+            filter.getPayloadFields().forEach((field, value) -> {
+                sql.append(" and jsonb_extract_path_text(payload_json, ?) = ?");
+                args.add(field);
+                args.add(value);
+            });
+        }
+        if (filter.getText() != null && !filter.getText().isBlank()) {
+            appendTextMatch(sql, args, filter.getText());
+        }
+        if (filter.getAfter() != null) {
+            Timestamp ts = Timestamp.from(filter.getAfter().timestamp());
+            sql.append(" and (timestamp < ? or (timestamp = ? and event_id < ?))");
+            args.add(ts);
+            args.add(ts);
+            args.add(filter.getAfter().uuid());
+        }
+        sql.append(ORDER).append(" limit ?");
+        args.add(filter.getLimit() + 1);
+
+        List<DIDEvent> rows = jdbcTemplate.query(sql.toString(), EVENT_MAPPER, args.toArray());
+        boolean hasMore = rows.size() > filter.getLimit();
+        List<DIDEvent> page = hasMore ? rows.subList(0, filter.getLimit()) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            DIDEvent last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getEventId().toString()).encode();
+        }
+        return new CursorPage<>(List.copyOf(page), nextCursor);
+    }
+
+    /**
+     * Hands the user's events to {@code consumer} newest first, one keyset page at a time. Not
+     * transactional on purpose: each page borrows a connection for its query only, so a slow download
+     * does not hold a connection or a read transaction open while the client consumes it.
+     */
+    public void streamEvents(UUID userId, Consumer<DIDEvent> consumer) {
+        KeysetCursor after = null;
+        while (true) {
+            CursorPage<DIDEvent> page = findEvents(DIDEventFilter.builder()
+                    .userId(userId)
+                    .after(after)
+                    .limit(STREAM_PAGE_SIZE)
+                    .build());
+            page.getItems().forEach(consumer);
+            if (page.getNextCursor() == null) {
+                return;
+            }
+            after = KeysetCursor.decode(page.getNextCursor());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByType(UUID userId) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : recordRepository.countByType(userId)) {
+            counts.put(((EventType) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * The FILE_UPLOAD event for the file, via the {@code file_id} index; a ledger-confirmed row wins
+     * over one that is still pending.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DIDEventRecord> findFileEvent(UUID fileId, Collection<UUID> userIds) {
+        return recordRepository.findFileEvents(fileId, EventType.FILE_UPLOAD, userIds, PageRequest.ofSize(1))
+                .stream()
+                .findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DIDEventRecord> findRecord(UUID eventId) {
+        return recordRepository.findById(eventId);
+    }
+
+    /**
+     * Payload text matches the full-text index (all words, any order) when it is enabled, otherwise
+     * a substring; an event also matches when its type name contains the text.
+     */
+    private void appendTextMatch(StringBuilder sql, List<Object> args, String text) {
+        List<String> typesMatching = Arrays.stream(EventType.values())
+                .map(EventType::name)
+                .filter(name -> name.contains(text))
+                .toList();
+        if (fullTextReady) {
+            sql.append(" and (payload_tsv @@ plainto_tsquery('simple', ?)");
+            args.add(text);
+        } else {
+            sql.append(" and (payload like ? escape '\\'");
+            args.add("%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        for (String type : typesMatching) {
+            sql.append(" or event_type = ?");
+            args.add(type);
+        }
+        sql.append(")");
+    }
+
+    private DIDEventRecord toRecord(DIDEvent event, boolean confirmed) {
+        JsonNode payload = parsePayload(event);
+        UUID fileId = null;
+        if (event.getEventType() == EventType.FILE_UPLOAD && payload != null && payload.path("fileId").isTextual()) {
+            try {
+                fileId = UUID.fromString(payload.get("fileId").asText());
+            } catch (IllegalArgumentException e) {
+                log.warn("Event {} has an invalid fileId: {}", event.getEventId(), e.getMessage());
+            }
+        }
+        return DIDEventRecord.from(event, fileId, payload != null ? event.getPayload() : null, confirmed);
+    }
+
+    /**
+     * The payload as a JSON object, or {@code null} when it is missing or not an object.
+     */
+    private JsonNode parsePayload(DIDEvent event) {
+        if (event.getPayload() == null) return null;
+        try {
+            JsonNode node = objectMapper.readTree(event.getPayload());
+            return node != null && node.isObject() ? node : null;
+        } catch (Exception e) {
+            log.debug("Payload of event {} is not JSON: {}", event.getEventId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String matchKey(DIDEventRecord record) {
+        return record.getEventType() + "|" + record.getTimestamp().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
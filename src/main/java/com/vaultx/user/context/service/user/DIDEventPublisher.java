@@ -0,0 +1,57 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.DIDEventOutboxEntry;
+import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.repository.DIDEventOutboxRepository;
+import com.vaultx.user.context.utils.MerkleTree;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Hands DID events to the ledger pipeline. By default every event is mirrored and written to the
+ * outbox for {@link com.vaultx.user.context.jobs.DIDEventOutboxRelay}; with
+ * {@code vaultx.did-events.anchoring.enabled} events are only mirrored with their Merkle leaf hash,
+ * and {@link DIDEventAnchorService} publishes one root per batch instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class DIDEventPublisher {
+
+    private final DIDEventMirrorService mirrorService;
+    private final DIDEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${vaultx.did-events.anchoring.enabled:false}")
+    private boolean anchoringEnabled;
+
+    /**
+     * Publishes the event in the caller's transaction.
+     */
+    @Transactional
+    public void publish(DIDEvent event) {
+        if (anchoringEnabled && event.getEventType() != EventType.MERKLE_ROOT_ANCHORED) {
+            mirrorService.record(event, MerkleTree.toHex(DIDEventAnchorService.leafHash(event)));
+            return;
+        }
+        mirrorService.record(event, null);
+        outboxRepository.save(DIDEventOutboxEntry.builder()
+                .eventId(event.getEventId())
+                .eventKey(event.getUserId() != null ? event.getUserId().toString() : null)
+                .eventJson(toJson(event))
+                .createdAt(event.getTimestamp())
+                .build());
+    }
+
+    private String toJson(DIDEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing DID event", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.exception.LedgerUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for the Hyperledger gateway's chaincode query API. See
+ * {@link com.vaultx.user.context.configuration.HyperledgerClientConfig} for pooling and the
+ * retry / circuit breaker / bulkhead policies applied to every call.
+ * <p>
+ * Futures complete with the parsed body, {@code null} on 404, or fail with
+ * {@link LedgerUnavailableException} (5xx, timeouts, I/O errors, shed calls) or
+ * {@link IllegalStateException} (other 4xx, unreadable body).
+ */
+@Component
+@Slf4j
+public class HyperledgerClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final ScheduledExecutorService retryScheduler;
+    private final String baseUrl;
+    private final String authorization;
+    private final Duration readTimeout;
+
+    public HyperledgerClient(
+            HttpClient hyperledgerHttpClient,
+            ObjectMapper objectMapper,
+            Bulkhead hyperledgerBulkhead,
+            CircuitBreaker hyperledgerCircuitBreaker,
+            Retry hyperledgerRetry,
+            ScheduledExecutorService hyperledgerRetryScheduler,
+            @Value("${hyperledger.base-url}") String baseUrl,
+            @Value("${hyperledger.user}") String username,
+            @Value("${hyperledger.password}") String password,
+            @Value("${hyperledger.client.read-timeout:PT5S}") Duration readTimeout) {
+        this.httpClient = hyperledgerHttpClient;
+        this.objectMapper = objectMapper;
+        this.bulkhead = hyperledgerBulkhead;
+        this.circuitBreaker = hyperledgerCircuitBreaker;
+        this.retry = hyperledgerRetry;
+        this.retryScheduler = hyperledgerRetryScheduler;
+        this.baseUrl = baseUrl;
+        this.authorization = username != null && !username.isEmpty() && password != null
+                ? "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * GET {@code /api/chaincode/{query}?{param}={value}}.
+     */
+    public <T> CompletableFuture<T> query(String query, String param, Object value, TypeReference<T> type) {
+        URI uri = URI.create("%s/api/chaincode/%s?%s=%s".formatted(
+                baseUrl, query, param, URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+
+        Supplier<CompletionStage<T>> call = () -> send(uri, type);
+        call = Bulkhead.decorateCompletionStage(bulkhead, call);
+        call = CircuitBreaker.decorateCompletionStage(circuitBreaker, call);
+        call = Retry.decorateCompletionStage(retry, retryScheduler, call);
+
+        return call.get().toCompletableFuture().exceptionallyCompose(e -> CompletableFuture.failedFuture(translate(e, query)));
+    }
+
+    private <T> CompletionStage<T> send(URI uri, TypeReference<T> type) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        throw new LedgerUnavailableException("Ledger request failed: " + cause, cause);
+                    }
+                    return parse(response, type);
+                });
+    }
+
+    private <T> T parse(HttpResponse<byte[]> response, TypeReference<T> type) {
+        int status = response.statusCode();
+        if (status == 404) return null;
+        if (status >= 500 || status == 429) {
+            throw new LedgerUnavailableException("Ledger responded " + status);
+        }
+        if (status >= 400) {
+            throw new IllegalStateException("Ledger rejected " + response.uri().getPath() + " with " + status);
+        }
+        if (response.body().length == 0) return null;
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable ledger response: " + e.getMessage(), e);
+        }
+    }
+
+    private static Throwable translate(Throwable error, String query) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+            log.warn("Ledger call {} shed: {}", query, cause.getMessage());
+            return new LedgerUnavailableException("Ledger temporarily unavailable", cause);
+        }
+        return cause;
+    }
+}
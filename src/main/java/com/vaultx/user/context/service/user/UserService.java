@@ -1,12 +1,14 @@
 package com.vaultx.user.context.service.user;
 
 import com.vaultx.user.context.exception.UserNotFoundException;
+import com.vaultx.user.context.model.CursorPage;
 import com.vaultx.user.context.model.PublicKeyResponse;
 import com.vaultx.user.context.model.activity.ActivityResponseDTO;
 import com.vaultx.user.context.model.activity.ActivityType;
 import com.vaultx.user.context.model.authentication.response.UserResponseDTO;
 import com.vaultx.user.context.model.authentication.response.UserSearchDTO;
 import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.model.user.BlockListDTO;
 import com.vaultx.user.context.model.user.RoleType;
 import com.vaultx.user.context.model.user.User;
 import com.vaultx.user.context.model.user.UserReportRequest;
@@ -22,6 +24,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
@@ -41,6 +44,7 @@ public class UserService implements UserDetailsService {
     private final ReportService reportService;
     private final SessionService sessionService;
     private final KeyManagementService keyManagementService;
+    private final AvatarService avatarService;
 
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
@@ -77,13 +81,12 @@ public class UserService implements UserDetailsService {
         return sessionService.deleteUser(request);
     }
 
-    @Transactional(readOnly = true)
-    public String getUserAvatar(UUID id) {
-        User user = getUserById(id);
-        if (user.getProfileImage() == null) {
-            throw new UserNotFoundException("Avatar not found for user: " + id);
-        }
-        return user.getProfileImage();
+    public String getUserAvatarVersion(UUID id) {
+        return avatarService.getAvatarVersion(id);
+    }
+
+    public byte[] getUserAvatar(UUID id) {
+        return avatarService.getAvatar(id);
     }
 
     public PublicKeyResponse getUserPublicKey(UUID id) {
@@ -108,6 +111,18 @@ public class UserService implements UserDetailsService {
         blockService.blockUser(blockerId, blockedId);
     }
 
+    public BlockListDTO blockUsers(List<UUID> blockedIds, HttpServletRequest request) {
+        UUID blockerId = getSessionUser(request).getId();
+        if (blockedIds != null && !blockedIds.isEmpty()) {
+            blockService.blockUsers(blockerId, blockedIds);
+        }
+        return blockService.getBlockList(blockerId);
+    }
+
+    public BlockListDTO getBlockList(HttpServletRequest request) {
+        return blockService.getBlockList(getSessionUser(request).getId());
+    }
+
     public void unblockUser(UUID blockedId, HttpServletRequest request) {
         UUID blockerId = getSessionUser(request).getId();
         blockService.unblockUser(blockerId, blockedId);
@@ -163,9 +178,10 @@ public class UserService implements UserDetailsService {
         return roles;
     }
 
-    public List<ActivityResponseDTO> getUserActivities(String type, HttpServletRequest request) {
+    public CursorPage<ActivityResponseDTO> getUserActivities(
+            String type, Instant from, Instant to, String cursor, int limit, HttpServletRequest request) {
         User user = getSessionUser(request);
-        return activityService.getUserActivities(type, user);
+        return activityService.getUserActivities(type, from, to, cursor, limit, user);
     }
 
     public List<UserSearchDTO> searchUsers(String query, String currentUserId) {
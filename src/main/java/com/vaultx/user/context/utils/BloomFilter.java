@@ -0,0 +1,66 @@
+package com.vaultx.user.context.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Thread-safe Bloom filter over strings: {@link #mightContain} never returns {@code false} for a value
+ * that was {@link #put}, and returns {@code true} for an absent value with roughly the configured
+ * false-positive rate while the filter holds no more than the expected number of values.
+ * <p>
+ * Bit positions are derived from one 64-bit FNV-1a hash split into two halves (double hashing).
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((optimalBits + 63) / 64)];
+        this.numBits = bits.length * 64L;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+
+    public synchronized void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long index = index(h1 + i * h2);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % numBits;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
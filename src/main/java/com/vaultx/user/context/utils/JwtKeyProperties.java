@@ -0,0 +1,80 @@
+package com.vaultx.user.context.utils;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.UUID;
+
+/**
+ * Holds the key pair used to sign and verify access/refresh tokens.
+ * <p>
+ * The algorithm is selected with {@code jwt.signing-algorithm}: {@code ES256} (default, P-256 ECDSA)
+ * or {@code RS256} (2048-bit RSA). The key is generated on startup; its public half is published
+ * through the JWKS endpoint rather than embedded in tokens.
+ */
+@Component
+@Getter
+public class JwtKeyProperties {
+    private final SignatureAlgorithm algorithm;
+    private final JWK signingKey;
+
+    public JwtKeyProperties(@Value("${jwt.signing-algorithm:ES256}") SignatureAlgorithm algorithm)
+            throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.signingKey = generateSigningKey(algorithm);
+    }
+
+    public String getKeyId() {
+        return signingKey.getKeyID();
+    }
+
+    public JWKSet getPublicJwkSet() {
+        return new JWKSet(signingKey.toPublicJWK());
+    }
+
+    public JWSAlgorithm getJwsAlgorithm() {
+        return JWSAlgorithm.parse(algorithm.getName());
+    }
+
+    private static JWK generateSigningKey(SignatureAlgorithm algorithm) throws NoSuchAlgorithmException {
+        String keyId = UUID.randomUUID().toString();
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm.getName());
+
+        return switch (algorithm) {
+            case ES256 -> {
+                KeyPair pair = KeyGeneratorUtility.generateECKey(Curve.P_256.getStdName());
+                yield new ECKey.Builder(Curve.P_256, (ECPublicKey) pair.getPublic())
+                        .privateKey((ECPrivateKey) pair.getPrivate())
+                        .keyID(keyId)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(jwsAlgorithm)
+                        .build();
+            }
+            case RS256 -> {
+                KeyPair pair = KeyGeneratorUtility.generateRSAKey();
+                yield new RSAKey.Builder((RSAPublicKey) pair.getPublic())
+                        .privateKey((RSAPrivateKey) pair.getPrivate())
+                        .keyID(keyId)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(jwsAlgorithm)
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.vaultx.user.context.utils;
 
+import java.security.InvalidAlgorithmParameterException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
 
 public class KeyGeneratorUtility {
     public static KeyPair generateRSAKey() throws NoSuchAlgorithmException {
@@ -14,4 +16,17 @@ public class KeyGeneratorUtility {
 
         return keyPair;
     }
+
+    /**
+     * Generates an elliptic-curve key pair on the given named curve (e.g. {@code secp256r1} for ES256).
+     */
+    public static KeyPair generateECKey(String curveName) throws NoSuchAlgorithmException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        try {
+            keyPairGenerator.initialize(new ECGenParameterSpec(curveName));
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new NoSuchAlgorithmException("Unsupported EC curve: " + curveName, e);
+        }
+        return keyPairGenerator.generateKeyPair();
+    }
 }
@@ -0,0 +1,60 @@
+package com.vaultx.user.context.utils;
+
+import com.vaultx.user.context.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered by {@code (timestamp desc, id desc)}: the sort key of the last row
+ * returned. Encoded as URL-safe base64 of {@code "<timestamp>|<id>"} so clients treat it as opaque.
+ */
+public record KeysetCursor(Instant timestamp, String id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The id as a UUID, for listings keyed by one.
+     *
+     * @throws BadRequestException when the id is not a UUID
+     */
+    public UUID uuid() {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a blank value (first page)
+     * @throws BadRequestException when the value is not a cursor produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        int separator = decoded.indexOf('|');
+        if (separator < 0) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(Instant.parse(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
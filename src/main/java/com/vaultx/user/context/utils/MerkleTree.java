@@ -0,0 +1,142 @@
+package com.vaultx.user.context.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree over leaf hashes, with inclusion proofs.
+ * <p>
+ * Leaves and inner nodes are hashed with different prefixes ({@code 0x00} and {@code 0x01}), so a
+ * leaf can never be passed off as an inner node. An odd node at the end of a level is carried up
+ * unchanged rather than paired with itself, which means its proof simply has no step for that level.
+ */
+public final class MerkleTree {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    /**
+     * levels.get(0) are the leaf hashes, the last level holds only the root.
+     */
+    private final List<byte[][]> levels = new ArrayList<>();
+
+    public MerkleTree(List<byte[]> leafHashes) {
+        if (leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("A Merkle tree needs at least one leaf");
+        }
+        byte[][] level = leafHashes.toArray(new byte[0][]);
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < level.length; i += 2) {
+                parent[i / 2] = i + 1 < level.length ? hashNode(level[i], level[i + 1]) : level[i];
+            }
+            levels.add(parent);
+            level = parent;
+        }
+    }
+
+    /**
+     * Hash of a leaf's content; build the tree from these.
+     */
+    public static byte[] hashLeaf(byte[] data) {
+        MessageDigest digest = sha256();
+        digest.update(LEAF_PREFIX);
+        return digest.digest(data);
+    }
+
+    static byte[] hashNode(byte[] left, byte[] right) {
+        MessageDigest digest = sha256();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    public byte[] root() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    public int size() {
+        return levels.get(0).length;
+    }
+
+    /**
+     * Sibling hashes from the leaf at {@code index} up to the root.
+     */
+    public List<ProofStep> proof(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No leaf " + index + " in a tree of " + size());
+        }
+        List<ProofStep> steps = new ArrayList<>();
+        for (int depth = 0; depth < levels.size() - 1; depth++, index /= 2) {
+            byte[][] level = levels.get(depth);
+            int sibling = index ^ 1;
+            if (sibling < level.length) {
+                steps.add(new ProofStep(level[sibling].clone(), sibling < index));
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Whether {@code proof} leads from {@code leafHash} to {@code root}.
+     */
+    public static boolean verify(byte[] leafHash, List<ProofStep> proof, byte[] root) {
+        byte[] hash = leafHash;
+        for (ProofStep step : proof) {
+            hash = step.left() ? hashNode(step.sibling(), hash) : hashNode(hash, step.sibling());
+        }
+        return MessageDigest.isEqual(hash, root);
+    }
+
+    public static String toHex(byte[] hash) {
+        return HEX.formatHex(hash);
+    }
+
+    public static byte[] fromHex(String hex) {
+        return HEX.parseHex(hex);
+    }
+
+    /**
+     * Compact text form of a proof: {@code L<hex>} or {@code R<hex>} per step, comma separated.
+     */
+    public static String encodeProof(List<ProofStep> proof) {
+        return String.join(",", proof.stream().map(ProofStep::encode).toList());
+    }
+
+    public static List<ProofStep> decodeProof(String encoded) {
+        if (encoded == null || encoded.isEmpty()) return List.of();
+        return Arrays.stream(encoded.split(",")).map(ProofStep::decode).toList();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One level of a proof: the sibling's hash and whether it sits to the left.
+     */
+    public record ProofStep(byte[] sibling, boolean left) {
+
+        String encode() {
+            return (left ? "L" : "R") + toHex(sibling);
+        }
+
+        static ProofStep decode(String step) {
+            char side = step.charAt(0);
+            if (side != 'L' && side != 'R') {
+                throw new IllegalArgumentException("Invalid Merkle proof step: " + step);
+            }
+            return new ProofStep(fromHex(step.substring(1)), side == 'L');
+        }
+    }
+}
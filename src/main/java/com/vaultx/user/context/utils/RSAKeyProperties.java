@@ -1,24 +0,0 @@
-package com.vaultx.user.context.utils;
-
-import lombok.Getter;
-import lombok.Setter;
-import org.springframework.stereotype.Component;
-
-import java.security.KeyPair;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-
-@Component
-@Setter
-@Getter
-public class RSAKeyProperties {
-    private RSAPublicKey publicKey;
-    private RSAPrivateKey privateKey;
-
-    public RSAKeyProperties() throws NoSuchAlgorithmException {
-        KeyPair pair = KeyGeneratorUtility.generateRSAKey();
-        this.publicKey = (RSAPublicKey) pair.getPublic();
-        this.privateKey = (RSAPrivateKey) pair.getPrivate();
-    }
-}
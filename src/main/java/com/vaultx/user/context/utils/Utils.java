@@ -3,6 +3,8 @@ package com.vaultx.user.context.utils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.experimental.UtilityClass;
 
+import java.nio.charset.StandardCharsets;
+
 @UtilityClass
 public class Utils {
 
@@ -31,4 +33,20 @@ public class Utils {
 
         return request.getRemoteAddr();
     }
+
+    /**
+     * Identifies the calling device: the client-supplied {@code X-Device-Id} header when present,
+     * otherwise a short hash of the User-Agent.
+     */
+    public static String getDeviceId(HttpServletRequest request) {
+        String deviceId = request.getHeader("X-Device-Id");
+        if (deviceId != null && !deviceId.isBlank()) {
+            deviceId = deviceId.trim();
+            return deviceId.length() > 64 ? deviceId.substring(0, 64) : deviceId;
+        }
+
+        String userAgent = request.getHeader("User-Agent");
+        String hash = CipherUtils.getHash((userAgent == null ? "" : userAgent).getBytes(StandardCharsets.UTF_8));
+        return "ua-" + hash.substring(0, 16);
+    }
 }
@@ -0,0 +1,92 @@
+package com.vaultx.user.context.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.model.file.FileBlockchainMeta;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a DID event with its FILE_UPLOAD payload, and reading the payload back:
+ * <ul>
+ *   <li>{@code perCall*}: a new mapper per call, as {@code serializeToJson} / {@code getFileEvent} did;</li>
+ *   <li>{@code shared*}: one shared mapper.</li>
+ * </ul>
+ * Not part of the test run. Start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.vaultx.user.context.benchmark.ObjectMapperBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectMapperBenchmark {
+
+    private ObjectWriter sharedWriter;
+    private ObjectMapper sharedMapper;
+    private DIDEvent event;
+    private String payloadJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        sharedMapper = newMapper();
+        sharedWriter = sharedMapper.writer();
+
+        FileBlockchainMeta meta = FileBlockchainMeta.builder()
+                .fileId(UUID.randomUUID())
+                .messageId(UUID.randomUUID())
+                .fileName("quarterly-report.pdf")
+                .mimeType("application/pdf")
+                .fileSize(1_482_113)
+                .fileHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+                .uploadTimestamp(System.currentTimeMillis())
+                .build();
+        payloadJson = sharedMapper.writeValueAsString(meta);
+        event = new DIDEvent(UUID.randomUUID(), "MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE", EventType.FILE_UPLOAD, Instant.now(), payloadJson);
+        event.setEventId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public byte[] perCallWrite() throws Exception {
+        return newMapper().writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] sharedWrite() throws Exception {
+        return sharedWriter.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public FileBlockchainMeta perCallRead() throws Exception {
+        return new ObjectMapper().readValue(payloadJson, FileBlockchainMeta.class);
+    }
+
+    @Benchmark
+    public FileBlockchainMeta sharedRead() throws Exception {
+        return sharedMapper.readValue(payloadJson, FileBlockchainMeta.class);
+    }
+
+    private static ObjectMapper newMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObjectMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
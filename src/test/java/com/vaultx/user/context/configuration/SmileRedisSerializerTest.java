@@ -0,0 +1,54 @@
+package com.vaultx.user.context.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaultx.user.context.model.authentication.response.LoginResponseDTO;
+import com.vaultx.user.context.model.authentication.response.UserResponseDTO;
+import com.vaultx.user.context.model.user.UserSession;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmileRedisSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SmileRedisSerializer<UserSession> sut = new SmileRedisSerializer<>(objectMapper, UserSession.class);
+
+    @Test
+    void roundTripsTypedSession() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UserSession session = UserSession.builder()
+                .user(new LoginResponseDTO(
+                        UserResponseDTO.builder()
+                                .id(UUID.randomUUID())
+                                .username("john")
+                                .build(),
+                        "access",
+                        "refresh"))
+                .clientIp("10.0.0.1")
+                .userAgent("JUnit")
+                .createdAt(now)
+                .updatedAt(now)
+                .deviceId("device-1")
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+
+        byte[] bytes = sut.serialize(session);
+        UserSession decoded = sut.deserialize(bytes);
+
+        assertEquals(session, decoded);
+        assertTrue(bytes.length < objectMapper.valueToTree(session).toString().length());
+    }
+
+    @Test
+    void treatsEmptyPayloadAsMissing() {
+        assertNull(sut.deserialize(new byte[0]));
+        assertNull(sut.deserialize(null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vaultx.user.context.configuration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    JwtDecoder delegate;
+
+    SimpleMeterRegistry meterRegistry;
+    CachingJwtDecoder sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new CachingJwtDecoder(delegate, 100, Duration.ofHours(1), meterRegistry);
+    }
+
+    @Test
+    void verifiesEachTokenOnlyOnce() {
+        Jwt jwt = jwt(Instant.now().plusSeconds(600));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        assertSame(jwt, sut.decode("token-a"));
+        assertSame(jwt, sut.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("cache.gets")
+                        .tag("cache", CachingJwtDecoder.CACHE_NAME)
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid signature"));
+
+        assertThrows(BadJwtException.class, () -> sut.decode("bad"));
+        assertThrows(BadJwtException.class, () -> sut.decode("bad"));
+
+        verify(delegate, times(2)).decode("bad");
+    }
+
+    @Test
+    void dropsEntriesOnceTokenHasExpired() {
+        when(delegate.decode("expired")).thenReturn(jwt(Instant.now().minusSeconds(5)));
+
+        sut.decode("expired");
+
+        assertEquals(0, sut.estimatedSize());
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("value")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(1800))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
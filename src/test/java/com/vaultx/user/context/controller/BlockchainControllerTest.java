@@ -0,0 +1,55 @@
+package com.vaultx.user.context.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.exception.GlobalExceptionHandler;
+import com.vaultx.user.context.service.user.BlockchainService;
+import com.vaultx.user.context.utils.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BlockchainControllerTest {
+
+    private final BlockchainService blockchainService = mock(BlockchainService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new BlockchainController(blockchainService, new ObjectMapper()))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void rejectsMalformedCursors() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        mockMvc.perform(get("/api/blockchain/events").param("userId", userId).param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        mockMvc.perform(get("/api/blockchain/events/search").param("userId", userId).param("q", "report")
+                        .param("cursor", new KeysetCursor(Instant.EPOCH, "act_0f").encode()))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(blockchainService);
+    }
+
+    @Test
+    void rejectsMalformedPayloadFilters() throws Exception {
+        mockMvc.perform(get("/api/blockchain/events")
+                        .param("userId", UUID.randomUUID().toString())
+                        .param("payload", "fileName"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("payload filters must look like field:value"));
+        verifyNoInteractions(blockchainService);
+    }
+
+    @Test
+    void rejectsMalformedIds() throws Exception {
+        mockMvc.perform(get("/api/blockchain/events/stats").param("userId", "42"))
+                .andExpect(status().isBadRequest());
+    }
+}
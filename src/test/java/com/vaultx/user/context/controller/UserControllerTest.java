@@ -0,0 +1,40 @@
+package com.vaultx.user.context.controller;
+
+import com.vaultx.user.context.model.user.BulkBlockRequest;
+import com.vaultx.user.context.service.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+    private final UserService userService = mock(UserService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService)).build();
+
+    @Test
+    void rejectsBulkBlocksWithoutIds() throws Exception {
+        mockMvc.perform(post("/api/user/blocks").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void rejectsBulkBlocksOverTheCap() throws Exception {
+        String ids = Stream.generate(() -> "\"" + UUID.randomUUID() + "\"")
+                .limit(BulkBlockRequest.MAX_USERS + 1)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(post("/api/user/blocks").contentType(MediaType.APPLICATION_JSON).content("{\"userIds\":[" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
+    }
+}
@@ -0,0 +1,177 @@
+package com.vaultx.user.context.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import com.vaultx.user.context.service.kafka.KafkaProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DIDEventOutboxRelayTest {
+
+    private static final String ALICE = UUID.randomUUID().toString();
+    private static final String BOB = UUID.randomUUID().toString();
+    private static final String CAROL = UUID.randomUUID().toString();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final KafkaProducer kafkaProducer = mock(KafkaProducer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeOutbox outbox = new FakeOutbox();
+    private final List<Long> sends = new ArrayList<>();
+
+    @Test
+    void stopsAKeyAtItsFirstFailureAndSkipsKeysBehindOtherInstances() {
+        outbox.claim(1, ALICE, 0).claim(2, ALICE, 0).claim(3, BOB, 0).claim(5, CAROL, 0);
+        // Carol's row 4 is locked by another instance
+        outbox.unsent(1, ALICE).unsent(2, ALICE).unsent(3, BOB).unsent(4, CAROL).unsent(5, CAROL);
+        when(kafkaProducer.sendDIDEvent(any())).thenAnswer(invocation -> {
+            long id = sent(invocation.getArgument(0));
+            return id == 1
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        relay(10).relay();
+
+        assertEquals(List.of(1L, 3L), sends);
+        assertEquals(List.of(3L), outbox.sentIds);
+        assertEquals(List.of(1L), outbox.failedIds);
+    }
+
+    @Test
+    void sendsAKeysRowsOneAtATimeInIdOrder() {
+        outbox.claim(1, ALICE, 0).claim(2, ALICE, 0).claim(3, ALICE, 0);
+        outbox.unsent(1, ALICE).unsent(2, ALICE).unsent(3, ALICE);
+        when(kafkaProducer.sendDIDEvent(any())).thenAnswer(invocation -> {
+            long id = sent(invocation.getArgument(0));
+            // Acknowledged later, so a parallel send of the next row would show up first
+            return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS))
+                    .thenApply(ignored -> (long) sends.indexOf(id));
+        });
+
+        relay(10).relay();
+
+        assertEquals(List.of(1L, 2L, 3L), sends);
+        assertEquals(List.of(1L, 2L, 3L), outbox.sentIds);
+    }
+
+    @Test
+    void parksRowsThatRunOutOfAttempts() {
+        outbox.claim(1, ALICE, 2).claim(2, BOB, 0);
+        outbox.unsent(1, ALICE).unsent(2, BOB);
+        when(kafkaProducer.sendDIDEvent(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay(3).relay();
+
+        assertEquals(List.of(1L, 2L), outbox.failedIds);
+        assertEquals(1.0, meterRegistry.get("vaultx.did-events.outbox.relayed").tag("result", "parked").counter().count());
+        assertEquals(2.0, meterRegistry.get("vaultx.did-events.outbox.relayed").tag("result", "failed").counter().count());
+    }
+
+    private DIDEventOutboxRelay relay(int maxAttempts) {
+        return new DIDEventOutboxRelay(
+                outbox, mock(PlatformTransactionManager.class), kafkaProducer, objectMapper, meterRegistry,
+                200, Duration.ofSeconds(5), Duration.ofDays(7), maxAttempts, 500);
+    }
+
+    private synchronized long sent(DIDEvent event) {
+        long id = event.getEventId().getLeastSignificantBits();
+        sends.add(id);
+        return id;
+    }
+
+    private String json(long id, String key) {
+        DIDEvent event = new DIDEvent(UUID.fromString(key), "pk", EventType.FILE_UPLOAD, Instant.EPOCH, "{}");
+        event.setEventId(new UUID(0L, id));
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Answers the relay's claim and pending-row queries and records the rows it marks.
+     */
+    private class FakeOutbox extends JdbcTemplate {
+        private final List<Object[]> claimed = new ArrayList<>();
+        private final Map<Long, String> unsent = new LinkedHashMap<>();
+        private final List<Long> sentIds = new ArrayList<>();
+        private final List<Long> failedIds = new ArrayList<>();
+        private boolean drained;
+
+        FakeOutbox claim(long id, String key, int attempts) {
+            claimed.add(new Object[] {id, key, json(id, key), attempts});
+            return this;
+        }
+
+        FakeOutbox unsent(long id, String key) {
+            unsent.put(id, key);
+            return this;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<T> rows = new ArrayList<>();
+            if (drained) return rows;
+            drained = true;
+            try {
+                for (Object[] row : claimed) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id")).thenReturn((Long) row[0]);
+                    when(rs.getString("event_key")).thenReturn((String) row[1]);
+                    when(rs.getString("event_json")).thenReturn((String) row[2]);
+                    when(rs.getInt("attempts")).thenReturn((Integer) row[3]);
+                    rows.add(rowMapper.mapRow(rs, rows.size()));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return rows;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            try {
+                for (Map.Entry<Long, String> row : unsent.entrySet()) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id")).thenReturn(row.getKey());
+                    when(rs.getString("event_key")).thenReturn(row.getValue());
+                    rch.processRow(rs);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            List<Long> target = sql.contains("sent_at = ?") ? sentIds : failedIds;
+            batchArgs.forEach(args -> target.add((Long) args[args.length - 1]));
+            return new int[batchArgs.size()];
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vaultx.user.context.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfDistributionTest {
+
+    @Test
+    void sameSeedGivesSameSamples() {
+        ZipfDistribution sut = new ZipfDistribution(1000, 1.1);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        int[] a = new int[100];
+        int[] b = new int[100];
+        for (int i = 0; i < 100; i++) {
+            a[i] = sut.sample(first);
+            b[i] = sut.sample(second);
+        }
+        assertArrayEquals(a, b);
+    }
+
+    @Test
+    void lowRanksDominate() {
+        ZipfDistribution sut = new ZipfDistribution(1000, 1.1);
+        SplittableRandom random = new SplittableRandom(7);
+
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            int rank = sut.sample(random);
+            assertTrue(rank >= 0 && rank < 1000);
+            counts[rank]++;
+        }
+        int top10 = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            top10 += counts[rank];
+        }
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[9]);
+        assertTrue(top10 > 40_000, "top 10 ranks drew " + top10);
+    }
+}
@@ -0,0 +1,73 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import com.vaultx.user.context.model.user.Role;
+import com.vaultx.user.context.model.user.User;
+import com.vaultx.user.context.repository.RoleRepository;
+import com.vaultx.user.context.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnonymousAccountProvisionerTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 8, Duration.ofSeconds(5));
+    private final AnonymousAccountProvisioner sut = new AnonymousAccountProvisioner(
+            userRepository, roleRepository, mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class),
+            hashingExecutor, NoOpPasswordEncoder.getInstance(), meterRegistry, 100, 100, Duration.ofMillis(200));
+
+    @AfterEach
+    void stopWriter() {
+        sut.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void timedOutRequestsDoNotLeaveAnAccountBehind() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<String> saved = new CopyOnWriteArrayList<>();
+        when(roleRepository.findByAuthority(anyString()))
+                .thenAnswer(invocation -> Optional.of(Role.builder().authority(invocation.getArgument(0)).build()));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            if (users.stream().anyMatch(user -> user.getUsername().equals("first"))) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            users.forEach(user -> saved.add(user.getUsername()));
+            return users;
+        });
+
+        // The writer is busy with "first", so "second" stays queued past its timeout
+        CompletableFuture<User> first = CompletableFuture.supplyAsync(() -> sut.provision("first", "pw"));
+        firstBatchStarted.await(5, TimeUnit.SECONDS);
+        assertThrows(TooManyRequestsException.class, () -> sut.provision("second", "pw"));
+        releaseFirstBatch.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getUsername());
+        assertEquals("third", sut.provision("third", "pw").getUsername());
+        assertEquals(List.of("first", "third"), saved);
+    }
+}
@@ -0,0 +1,163 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.vaultx.user.context.service.authentication.FailedAttemptLimiter.Scope.LOGIN_USER;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the throttling scripts against a real Redis.
+ */
+class FailedAttemptLimiterIT {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.ofEpochMilli(1000 * WINDOW.toMillis()));
+    private final FailedAttemptLimiter sut = new FailedAttemptLimiter(redisTemplate, clock, WINDOW, 5, 20, 5);
+
+    @BeforeAll
+    static void startRedis() {
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Test
+    void locksOutAfterTheLimitAndResetClearsIt() {
+        String user = UUID.randomUUID().toString();
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, sut.acquire(LOGIN_USER, user).failures());
+        }
+        assertThrows(TooManyRequestsException.class, () -> sut.acquire(LOGIN_USER, user));
+
+        sut.reset(LOGIN_USER, user);
+        assertEquals(1, sut.acquire(LOGIN_USER, user).failures());
+    }
+
+    @Test
+    void releasedAttemptsDoNotCount() {
+        String user = UUID.randomUUID().toString();
+        for (int i = 0; i < 10; i++) {
+            sut.release(sut.acquire(LOGIN_USER, user));
+        }
+        assertEquals(1, sut.acquire(LOGIN_USER, user).failures());
+    }
+
+    @Test
+    void previousBucketFadesOutAfterRollover() {
+        String user = UUID.randomUUID().toString();
+        for (int i = 0; i < 4; i++) {
+            sut.acquire(LOGIN_USER, user);
+        }
+
+        // Half into the next bucket: 4 previous failures weigh 2
+        clock.advance(WINDOW.plus(WINDOW.dividedBy(2)));
+        assertEquals(3, sut.acquire(LOGIN_USER, user).failures());
+
+        // Two windows later nothing is left
+        clock.advance(WINDOW.multipliedBy(2));
+        assertEquals(1, sut.acquire(LOGIN_USER, user).failures());
+    }
+
+    @Test
+    void concurrentAttemptsCannotOvershootTheLimit() throws Exception {
+        String user = UUID.randomUUID().toString();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                attempts.add(() -> {
+                    try {
+                        sut.acquire(LOGIN_USER, user);
+                        return true;
+                    } catch (TooManyRequestsException e) {
+                        return false;
+                    }
+                });
+            }
+            int allowed = 0;
+            for (Future<Boolean> result : pool.invokeAll(attempts)) {
+                if (result.get()) allowed++;
+            }
+            assertEquals(5, allowed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void releaseNeverGoesBelowZero() {
+        String user = UUID.randomUUID().toString();
+        FailedAttemptLimiter.Attempt attempt = sut.acquire(LOGIN_USER, user);
+        sut.reset(LOGIN_USER, user);
+        assertDoesNotThrow(() -> sut.release(attempt));
+        assertEquals(1, sut.acquire(LOGIN_USER, user).failures());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.vaultx.user.context.service.authentication;
+
+import com.vaultx.user.context.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.vaultx.user.context.service.authentication.FailedAttemptLimiter.Scope.LOGIN_USER;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FailedAttemptLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+    // A quarter into bucket 1000
+    private static final Instant NOW = Instant.ofEpochMilli(1000 * WINDOW.toMillis() + WINDOW.toMillis() / 4);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final FailedAttemptLimiter sut =
+            new FailedAttemptLimiter(redisTemplate, Clock.fixed(NOW, ZoneOffset.UTC), WINDOW, 5, 20, 5);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsInTheCurrentBucketAndWeighsThePreviousOne() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(3L);
+
+        FailedAttemptLimiter.Attempt attempt = sut.acquire(LOGIN_USER, "alice");
+
+        assertEquals(new FailedAttemptLimiter.Attempt("throttle:login:user:alice:1000", 3), attempt);
+        verify(redisTemplate).execute(
+                any(RedisScript.class),
+                eq(List.of("throttle:login:user:alice:1000", "throttle:login:user:alice:999")),
+                eq("5"),
+                eq("0.75"),
+                eq(String.valueOf(WINDOW.toMillis() * 2)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsOverTheLimit() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(-1L);
+
+        assertThrows(TooManyRequestsException.class, () -> sut.acquire(LOGIN_USER, "alice"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failsOpenWhenRedisIsDown() {
+        RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenThrow(down);
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenThrow(down);
+        when(redisTemplate.delete(anyList())).thenThrow(down);
+
+        assertSame(FailedAttemptLimiter.Attempt.NONE, sut.acquire(LOGIN_USER, "alice"));
+        assertDoesNotThrow(() -> sut.release(new FailedAttemptLimiter.Attempt("throttle:login:user:alice:1000", 1)));
+        assertDoesNotThrow(() -> sut.reset(LOGIN_USER, "alice"));
+    }
+
+    @Test
+    void skipsAttemptsWithoutASubject() {
+        assertSame(FailedAttemptLimiter.Attempt.NONE, sut.acquire(LOGIN_USER, null));
+        sut.release(FailedAttemptLimiter.Attempt.NONE);
+        sut.reset(LOGIN_USER, null);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void resetClearsBothBuckets() {
+        sut.reset(LOGIN_USER, "alice");
+
+        verify(redisTemplate).delete(List.of("throttle:login:user:alice:1000", "throttle:login:user:alice:999"));
+    }
+
+    @Test
+    void previousBucketFadesOutOverTheWindow() {
+        assertEquals(1.0, FailedAttemptLimiter.previousWeight(0, WINDOW));
+        assertEquals(0.75, FailedAttemptLimiter.previousWeight(WINDOW.toMillis() / 4, WINDOW));
+        assertEquals(1.0, FailedAttemptLimiter.previousWeight(WINDOW.toMillis(), WINDOW));
+    }
+}
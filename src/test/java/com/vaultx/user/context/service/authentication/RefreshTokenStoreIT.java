@@ -0,0 +1,74 @@
+package com.vaultx.user.context.service.authentication;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the rotation script against a real Redis.
+ */
+class RefreshTokenStoreIT {
+
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() {
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Test
+    void logoutFindsAFamilyKeptAliveByRotationPastTheOriginalTtl() throws Exception {
+        Duration ttl = Duration.ofSeconds(1);
+        RefreshTokenStore store = new RefreshTokenStore(redisTemplate, ttl);
+        UUID userId = UUID.randomUUID();
+
+        RefreshTokenStore.IssuedToken token = store.issue(userId, "laptop");
+        long deadline = System.nanoTime() + ttl.multipliedBy(3).toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(300);
+            RefreshTokenStore.Rotation rotation = store.rotate(userId, token.familyId(), token.jti());
+            assertEquals(RefreshTokenStore.Outcome.ROTATED, rotation.outcome());
+            token = rotation.token();
+        }
+
+        store.revokeDevice(userId, "laptop");
+
+        assertEquals(RefreshTokenStore.Outcome.UNKNOWN_FAMILY, store.rotate(userId, token.familyId(), token.jti()).outcome());
+    }
+
+    @Test
+    void refusesAFamilyPresentedForAnotherUser() {
+        RefreshTokenStore store = new RefreshTokenStore(redisTemplate, Duration.ofMinutes(1));
+        RefreshTokenStore.IssuedToken token = store.issue(UUID.randomUUID(), "phone");
+
+        assertEquals(RefreshTokenStore.Outcome.UNKNOWN_FAMILY,
+                store.rotate(UUID.randomUUID(), token.familyId(), token.jti()).outcome());
+    }
+}
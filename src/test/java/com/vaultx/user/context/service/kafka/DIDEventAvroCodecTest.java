@@ -0,0 +1,108 @@
+package com.vaultx.user.context.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DIDEventAvroCodecTest {
+
+    private final DIDEventSchemaRegistry registry = DIDEventSchemaRegistry.fromClasspath();
+    private final DIDEventAvroCodec codec = new DIDEventAvroCodec(registry);
+
+    @Test
+    void roundTripsWithSchemaIdFraming() {
+        DIDEvent event = event();
+
+        byte[] encoded = codec.encode(event);
+
+        assertEquals(DIDEventAvroCodec.MAGIC_BYTE, encoded[0]);
+        assertEquals(registry.latestId(), ByteBuffer.wrap(encoded, 1, 4).getInt());
+        assertEquals(event, codec.decode(encoded));
+        assertEquals(event, codec.deserializer().deserialize("users.key-rotation", codec.serializer().serialize("users.key-rotation", event)));
+    }
+
+    @Test
+    void isSmallerThanJson() throws Exception {
+        DIDEvent event = event();
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(event);
+        assertTrue(codec.encode(event).length < json.length, "avro " + codec.encode(event).length + " vs json " + json.length);
+    }
+
+    /**
+     * Runs with every build: each schema version must be able to read data written with any earlier
+     * one, so consumers can upgrade before or after producers.
+     */
+    @Test
+    void everySchemaVersionReadsEarlierVersions() {
+        List<Schema> versions = registry.versions();
+        for (int reader = 0; reader < versions.size(); reader++) {
+            for (int writer = 0; writer <= reader; writer++) {
+                SchemaCompatibility.SchemaPairCompatibility result =
+                        SchemaCompatibility.checkReaderWriterCompatibility(versions.get(reader), versions.get(writer));
+                assertEquals(SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE, result.getType(),
+                        "v" + (reader + 1) + " cannot read v" + (writer + 1) + ": " + result.getDescription());
+            }
+        }
+    }
+
+    @Test
+    void readsMessagesWrittenWithAnOlderSchema() {
+        Schema older = withoutOptionalFields(registry.latest());
+        DIDEventAvroCodec oldProducer = new DIDEventAvroCodec(new DIDEventSchemaRegistry(List.of(older)));
+        DIDEventAvroCodec newConsumer = new DIDEventAvroCodec(new DIDEventSchemaRegistry(List.of(older, registry.latest())));
+        DIDEvent event = event();
+
+        DIDEvent decoded = newConsumer.decode(oldProducer.encode(event));
+
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        assertNull(decoded.getDocType());
+    }
+
+    @Test
+    void rejectsUnknownSchemaAndUnframedData() {
+        byte[] encoded = codec.encode(event());
+        ByteBuffer.wrap(encoded, 1, 4).putInt(99);
+        assertThrows(SerializationException.class, () -> codec.decode(encoded));
+        assertThrows(SerializationException.class, () -> codec.decode("{\"eventId\":1}".getBytes()));
+        assertThrows(SerializationException.class, () -> codec.serializer().serialize("t", "not an event"));
+    }
+
+    private static DIDEvent event() {
+        DIDEvent event = new DIDEvent(
+                UUID.randomUUID(),
+                "MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAu1SU1LfVLPHCozMxH2Mo4lgOEePzNm0tRgeLezV6ffAt0gunVTLw7onLRnrq0",
+                EventType.USER_KEY_ROTATED,
+                Instant.parse("2025-05-01T12:30:45.123456Z"),
+                "{\"newPublicKey\":\"MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIB\",\"rotatedAt\":\"2025-05-01T12:30:45Z\"}");
+        event.setEventId(UUID.randomUUID());
+        event.setDocType("did");
+        return event;
+    }
+
+    /**
+     * The current schema as if its optional fields had been added in a later version.
+     */
+    private static Schema withoutOptionalFields(Schema schema) {
+        List<Schema.Field> required = schema.getFields().stream()
+                .filter(field -> !field.hasDefaultValue())
+                .map(field -> new Schema.Field(field, field.schema()))
+                .toList();
+        return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), false, required);
+    }
+}
@@ -0,0 +1,32 @@
+package com.vaultx.user.context.service.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonSerializerTest {
+
+    @Test
+    void keepsNumericTimestampsWhateverTheApplicationMapperDoes() throws Exception {
+        // Configured like the application mapper
+        ObjectMapper applicationMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        DIDEvent event = new DIDEvent(
+                UUID.randomUUID(), "pk", EventType.USER_REGISTERED, Instant.parse("2026-10-18T21:00:00.123456Z"), null);
+
+        byte[] bytes = new JsonSerializer<DIDEvent>(applicationMapper).serialize("users.registration", event);
+
+        String json = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"timestamp\":1792357200.123456000"), json);
+    }
+}
@@ -0,0 +1,59 @@
+package com.vaultx.user.context.service.kafka;
+
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.model.blockchain.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaProducerTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KafkaProducer sut = new KafkaProducer(kafkaTemplate, meterRegistry);
+
+    @Test
+    void keysByUserAndRecordsDelivery() {
+        DIDEvent event = new DIDEvent(UUID.randomUUID(), "pk", EventType.USER_KEY_ROTATED, Instant.now(), "{}");
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition("users.key-rotation", 0), 0, 0, 0, 4, 120);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>("users.key-rotation", event), metadata)));
+
+        sut.sendDIDEvent(event).join();
+
+        verify(kafkaTemplate).send(eq("users.key-rotation"), eq(event.getUserId().toString()), eq(event));
+        assertEquals(1, meterRegistry.get("vaultx.kafka.producer.send").tag("result", "success").timer().count());
+        assertEquals(1.0, meterRegistry.get("vaultx.kafka.producer.records").tag("topic", "users.key-rotation").counter().count());
+        assertEquals(120.0, meterRegistry.get("vaultx.kafka.producer.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void recordsFailedDelivery() {
+        DIDEvent event = new DIDEvent(UUID.randomUUID(), "pk", EventType.FILE_UPLOAD, Instant.now(), "{}");
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertTrue(sut.sendDIDEvent(event).isCompletedExceptionally());
+
+        assertEquals(1, meterRegistry.get("vaultx.kafka.producer.send")
+                .tags("topic", "blockchain.transactions", "result", "failure").timer().count());
+    }
+}
@@ -0,0 +1,66 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.model.activity.ActivityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActivityWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ActivityRollupService rollupService = mock(ActivityRollupService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesEverySubmittedActivityInBatches() throws Exception {
+        ActivityWriter sut = new ActivityWriter(
+                jdbcTemplate, transactionManager, rollupService, meterRegistry, 1000, 50, ActivityWriter.OverflowPolicy.CALLER_RUNS, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 200; i++) {
+            sut.submit(UUID.randomUUID(), ActivityType.LOGIN, "login", false, null);
+        }
+        sut.shutdown();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture());
+        assertEquals(200, rows.getAllValues().stream().mapToInt(List::size).sum());
+        rows.getAllValues().forEach(batch -> assertEquals(true, batch.size() <= 50));
+        verify(rollupService, atLeastOnce()).apply(anyCollection());
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        ActivityWriter sut = new ActivityWriter(
+                jdbcTemplate, transactionManager, rollupService, meterRegistry, 1000, 50, ActivityWriter.OverflowPolicy.CALLER_RUNS, Duration.ofSeconds(1));
+
+        sut.submit(UUID.randomUUID(), ActivityType.KEY, "rotated", false, "x".repeat(2000));
+        sut.submit(UUID.randomUUID(), ActivityType.KEY, "rotated", false, null);
+        sut.shutdown();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        // Rollups only move for rows that were actually inserted
+        verify(rollupService, times(2)).apply(argThat(increments -> increments.size() == 1));
+    }
+}
@@ -0,0 +1,38 @@
+package com.vaultx.user.context.service.user;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class AvatarGeneratorTest {
+
+    private final AvatarGenerator sut = new AvatarGenerator();
+
+    @Test
+    void sameUserAlwaysGetsSameAvatar() {
+        UUID userId = UUID.randomUUID();
+        assertArrayEquals(sut.generatePng(userId), sut.generatePng(userId));
+    }
+
+    @Test
+    void differentUsersGetDifferentAvatars() {
+        assertFalse(Arrays.equals(
+                sut.generatePng(UUID.randomUUID()), sut.generatePng(UUID.randomUUID())));
+    }
+
+    @Test
+    void producesReadablePng() throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(sut.generatePng(UUID.randomUUID())));
+        assertNotNull(image);
+        assertEquals(image.getWidth(), image.getHeight());
+    }
+}
@@ -0,0 +1,72 @@
+package com.vaultx.user.context.service.user;
+
+import com.vaultx.user.context.model.user.BlocksChangedEvent;
+import com.vaultx.user.context.repository.UserBlockRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the populate script against a real Redis.
+ */
+class BlockListCacheIT {
+
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() {
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Test
+    void aSnapshotLoadedAcrossAnEvictionIsNotCached() {
+        UserBlockRepository repository = mock(UserBlockRepository.class);
+        BlockListCache cache = new BlockListCache(redisTemplate, repository, Duration.ofHours(1));
+        UUID blocker = UUID.randomUUID();
+        UUID blocked = UUID.randomUUID();
+        // The first load sees the pre-commit snapshot; the block commits and evicts while it runs
+        when(repository.findBlockedIds(blocker))
+                .thenAnswer(invocation -> {
+                    cache.onBlocksChanged(new BlocksChangedEvent(blocker, List.of(blocked)));
+                    return Set.of();
+                })
+                .thenReturn(Set.of(blocked));
+
+        assertFalse(cache.isBlocked(blocker, blocked));
+
+        assertTrue(cache.isBlocked(blocker, blocked));
+        assertTrue(cache.isBlocked(blocker, blocked));
+    }
+}
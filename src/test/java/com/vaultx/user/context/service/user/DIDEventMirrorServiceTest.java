@@ -0,0 +1,66 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.user.context.model.blockchain.DIDEvent;
+import com.vaultx.user.context.repository.DIDEventRecordRepository;
+import com.vaultx.user.context.repository.DIDEventSyncStateRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DIDEventMirrorServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DIDEventMirrorService sut = new DIDEventMirrorService(
+            mock(DIDEventRecordRepository.class), mock(DIDEventSyncStateRepository.class), new ObjectMapper(), jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamEventsReadsKeysetPagesUntilTheLastOne() {
+        UUID userId = UUID.randomUUID();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        // 501 rows means "500 and more to come"; the second page is the last
+        List<DIDEvent> firstPage = events(start, 501);
+        List<DIDEvent> lastPage = events(start.minusSeconds(1000), 3);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(firstPage, lastPage);
+
+        List<DIDEvent> streamed = new ArrayList<>();
+        sut.streamEvents(userId, streamed::add);
+
+        assertEquals(503, streamed.size());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertFalse(sql.getAllValues().get(0).contains("event_id <"));
+        assertTrue(sql.getAllValues().get(1).contains("event_id <"));
+        // The second page continues after the 500th event
+        assertTrue(List.of(args.getAllValues().get(1)).contains(firstPage.get(499).getEventId()));
+    }
+
+    private static List<DIDEvent> events(Instant newest, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> DIDEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .timestamp(newest.minusSeconds(i))
+                        .build())
+                .toList();
+    }
+}
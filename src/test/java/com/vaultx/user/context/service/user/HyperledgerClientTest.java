@@ -0,0 +1,99 @@
+package com.vaultx.user.context.service.user;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.vaultx.user.context.configuration.HyperledgerClientConfig;
+import com.vaultx.user.context.exception.LedgerUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HyperledgerClientTest {
+
+    private final HyperledgerClientConfig config = new HyperledgerClientConfig();
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private HyperledgerClient sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/chaincode/flaky", exchange -> {
+            boolean fail = calls.incrementAndGet() < 3;
+            byte[] body = (fail ? "" : "[\"a\",\"b\"]").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(fail ? 503 : 200, fail ? -1 : body.length);
+            if (!fail) exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/api/chaincode/down", exchange -> {
+            calls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.createContext("/api/chaincode/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        executor = config.hyperledgerExecutor(2);
+        scheduler = config.hyperledgerRetryScheduler();
+        sut = new HyperledgerClient(
+                config.hyperledgerHttpClient(executor, Duration.ofSeconds(1)),
+                new ObjectMapper(),
+                config.hyperledgerBulkhead(5, Duration.ofMillis(100)),
+                config.hyperledgerCircuitBreaker(50, Duration.ofSeconds(3), 20, Duration.ofSeconds(30)),
+                config.hyperledgerRetry(3, Duration.ofMillis(10)),
+                scheduler,
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                "user",
+                "secret",
+                Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void retriesServerErrorsUntilSuccess() {
+        List<String> result = sut.query("flaky", "id", "1", new TypeReference<List<String>>() {}).join();
+
+        assertEquals(List.of("a", "b"), result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void failsWithLedgerUnavailableOnceRetriesAreExhausted() {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> sut.query("down", "id", "1", new TypeReference<List<String>>() {}).join());
+
+        assertInstanceOf(LedgerUnavailableException.class, e.getCause());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void notFoundCompletesWithNull() {
+        assertNull(sut.query("missing", "id", "1", new TypeReference<List<String>>() {}).join());
+    }
+}
@@ -0,0 +1,34 @@
+package com.vaultx.user.context.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsInsertedValues() {
+        BloomFilter sut = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            sut.put("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(sut.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter sut = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            sut.put("user" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (sut.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vaultx.user.context.utils;
+
+import com.vaultx.user.context.exception.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrips() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-03-01T10:15:30.123456Z"), "act_0f|1");
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void blankMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm9waXBl"));
+        assertThrows(BadRequestException.class, () -> new KeysetCursor(Instant.EPOCH, "act_0f").uuid());
+    }
+}
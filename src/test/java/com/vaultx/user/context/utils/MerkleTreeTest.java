@@ -0,0 +1,74 @@
+package com.vaultx.user.context.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MerkleTreeTest {
+
+    @Test
+    void everyLeafProvesInclusionForAnyTreeSize() {
+        for (int size = 1; size <= 17; size++) {
+            List<byte[]> leaves = leaves(size);
+            MerkleTree tree = new MerkleTree(leaves);
+            for (int i = 0; i < size; i++) {
+                String encoded = MerkleTree.encodeProof(tree.proof(i));
+                assertTrue(MerkleTree.verify(leaves.get(i), MerkleTree.decodeProof(encoded), tree.root()),
+                        "leaf " + i + " of " + size);
+            }
+        }
+    }
+
+    @Test
+    void singleLeafIsItsOwnRoot() {
+        List<byte[]> leaves = leaves(1);
+        MerkleTree tree = new MerkleTree(leaves);
+        assertArrayEquals(leaves.get(0), tree.root());
+        assertEquals(List.of(), tree.proof(0));
+    }
+
+    @Test
+    void tamperedLeafOrProofFails() {
+        List<byte[]> leaves = leaves(5);
+        MerkleTree tree = new MerkleTree(leaves);
+        List<MerkleTree.ProofStep> proof = tree.proof(2);
+
+        assertFalse(MerkleTree.verify(leaves.get(3), proof, tree.root()));
+        byte[] sibling = proof.get(0).sibling().clone();
+        sibling[0] ^= 1;
+        List<MerkleTree.ProofStep> tampered = new ArrayList<>(proof);
+        tampered.set(0, new MerkleTree.ProofStep(sibling, proof.get(0).left()));
+        assertFalse(MerkleTree.verify(leaves.get(2), tampered, tree.root()));
+    }
+
+    @Test
+    void innerNodeIsNotAValidLeaf() {
+        List<byte[]> leaves = leaves(4);
+        MerkleTree tree = new MerkleTree(leaves);
+        byte[] inner = MerkleTree.hashNode(leaves.get(0), leaves.get(1));
+        assertFalse(MerkleTree.verify(MerkleTree.hashLeaf(inner), tree.proof(2).subList(1, 2), tree.root()));
+    }
+
+    @Test
+    void rejectsEmptyTreeAndBadProofs() {
+        assertThrows(IllegalArgumentException.class, () -> new MerkleTree(List.of()));
+        assertThrows(IndexOutOfBoundsException.class, () -> new MerkleTree(leaves(3)).proof(3));
+        assertThrows(IllegalArgumentException.class, () -> MerkleTree.decodeProof("Xabcd"));
+    }
+
+    private static List<byte[]> leaves(int count) {
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leaves.add(MerkleTree.hashLeaf(("event-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+}